@@ -0,0 +1,218 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.benchmark.api.PlannerBenchmarkFactory;
+import ai.timefold.solver.benchmark.config.PlannerBenchmarkConfig;
+import ai.timefold.solver.benchmark.config.ProblemBenchmarksConfig;
+import ai.timefold.solver.benchmark.config.SolverBenchmarkConfig;
+import ai.timefold.solver.benchmark.config.statistic.ProblemStatisticType;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchType;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.phase.custom.CustomPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.data.SeasonLoader;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Compares solver configurations (local search types, acceptor sizes, move selectors) on the same seasons with the
+ * Timefold benchmarker, which writes an HTML report with the best score over time, the score calculation and move
+ * evaluation speed of every configuration on every season, and its raw statistics as CSV.
+ * <p>
+ * The seasons are the bundled example, generated seasons of {@code --generated} sizes (people x shifts), and the
+ * archived seasons in {@code --archive} (every subdirectory with a {@code dates.txt} and {@code form_answers.csv}).
+ * They are written as snapshots first, so the report names them after the season.
+ */
+public class AlgorithmBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AlgorithmBenchmark.class);
+
+    private static final String EXAMPLE_DATES = "src/main/resources/dates_example.txt";
+    private static final String EXAMPLE_ANSWERS = "src/main/resources/form_answers_example.csv";
+
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        Path directory = Path.of(arguments.getString("out", "build/benchmark"));
+
+        List<File> problemFiles = writeProblems(loadProblems(arguments), directory.resolve("problems"));
+
+        ProblemBenchmarksConfig problemBenchmarksConfig = new ProblemBenchmarksConfig();
+        problemBenchmarksConfig.setSolutionFileIOClass(SnapshotFileIO.class);
+        problemBenchmarksConfig.setInputSolutionFileList(problemFiles);
+        problemBenchmarksConfig.setProblemStatisticTypeList(List.of(ProblemStatisticType.BEST_SCORE,
+                ProblemStatisticType.SCORE_CALCULATION_SPEED, ProblemStatisticType.MOVE_EVALUATION_SPEED));
+
+        Duration timeLimit = Duration.ofSeconds(arguments.getLong("seconds", 30));
+        List<String> only = arguments.has("configs") ? Arrays.asList(arguments.getString("configs", null).split(",")) : null;
+        List<SolverBenchmarkConfig> solverBenchmarkConfigs = new ArrayList<>();
+        solverConfigs(arguments).forEach((name, solverConfig) -> {
+            if (only != null && !only.contains(name)) {
+                return;
+            }
+            SolverBenchmarkConfig solverBenchmarkConfig = new SolverBenchmarkConfig();
+            solverBenchmarkConfig.setName(name);
+            solverBenchmarkConfig.setSolverConfig(solverConfig.withTerminationSpentLimit(timeLimit));
+            solverBenchmarkConfig.setProblemBenchmarksConfig(problemBenchmarksConfig);
+            // Several runs with different random seeds, to see how much a configuration depends on luck
+            solverBenchmarkConfig.setSubSingleCount(arguments.getInt("repeats", 1));
+            solverBenchmarkConfigs.add(solverBenchmarkConfig);
+        });
+        if (solverBenchmarkConfigs.isEmpty()) {
+            throw new IllegalArgumentException("No configuration matches " + only + ", expected some of "
+                    + solverConfigs(arguments).keySet());
+        }
+
+        PlannerBenchmarkConfig benchmarkConfig = new PlannerBenchmarkConfig();
+        benchmarkConfig.setBenchmarkDirectory(directory.toFile());
+        benchmarkConfig.setWarmUpSecondsSpentLimit(arguments.getLong("warm-up-seconds", 30));
+        // Runs at the same time compete for the cores, which distorts the speed statistics
+        benchmarkConfig.setParallelBenchmarkCount(arguments.getString("parallel", "1"));
+        benchmarkConfig.setSolverBenchmarkConfigList(solverBenchmarkConfigs);
+
+        LOGGER.info("Benchmarking {} configurations on {} seasons, {} each", solverBenchmarkConfigs.size(),
+                problemFiles.size(), timeLimit);
+        var plannerBenchmark = PlannerBenchmarkFactory.create(benchmarkConfig).buildPlannerBenchmark();
+        if (arguments.has("open")) {
+            plannerBenchmark.benchmarkAndShowReportInBrowser();
+        } else {
+            plannerBenchmark.benchmark();
+        }
+        LOGGER.info("Report written to {}", directory.toAbsolutePath());
+    }
+
+    /**
+     * The configurations to compare, by name. All of them start with the construction of {@link LudoApp}, only the
+     * local search differs.
+     */
+    static Map<String, SolverConfig> solverConfigs(Arguments arguments) {
+        Map<String, SolverConfig> solverConfigs = new LinkedHashMap<>();
+        // Timefold's default, and what LudoApp solves with
+        solverConfigs.put("Late Acceptance 400", solverConfig(arguments, lateAcceptance(400, false, false)));
+        solverConfigs.put("Late Acceptance 100", solverConfig(arguments, lateAcceptance(100, false, false)));
+        solverConfigs.put("Late Acceptance 2000", solverConfig(arguments, lateAcceptance(2000, false, false)));
+        solverConfigs.put("Tabu Search 7", solverConfig(arguments, LudoApp.localSearchPhaseConfig(false, false)
+                .withAcceptorConfig(new LocalSearchAcceptorConfig().withEntityTabuSize(7))
+                .withForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1000))));
+        solverConfigs.put("Great Deluge", solverConfig(arguments, LudoApp.localSearchPhaseConfig(false, false)
+                .withLocalSearchType(LocalSearchType.GREAT_DELUGE)));
+        // Other moves instead of other acceptors. No commas, --configs is split on them, and the benchmarker only
+        // allows letters, digits, spaces and _-.() in names
+        solverConfigs.put("Late Acceptance 400 (symmetry breaking)", solverConfig(arguments, lateAcceptance(400, true, false)));
+        solverConfigs.put("Late Acceptance 400 (custom moves)", solverConfig(arguments, lateAcceptance(400, false, true)));
+        return solverConfigs;
+    }
+
+    private static LocalSearchPhaseConfig lateAcceptance(int size, boolean symmetryBreaking, boolean customMoves) {
+        return LudoApp.localSearchPhaseConfig(symmetryBreaking, customMoves)
+                .withAcceptorConfig(new LocalSearchAcceptorConfig().withLateAcceptanceSize(size))
+                .withForagerConfig(new LocalSearchForagerConfig().withAcceptedCountLimit(1));
+    }
+
+    private static SolverConfig solverConfig(Arguments arguments, LocalSearchPhaseConfig localSearchPhaseConfig) {
+        SolverConfig solverConfig = LudoApp.createSolverConfig(arguments);
+        List<PhaseConfig> phaseConfigs = new ArrayList<>();
+        for (PhaseConfig<?> phaseConfig : solverConfig.getPhaseConfigList()) {
+            if (phaseConfig instanceof CustomPhaseConfig || phaseConfig instanceof ConstructionHeuristicPhaseConfig) {
+                phaseConfigs.add(phaseConfig);
+            }
+        }
+        phaseConfigs.add(localSearchPhaseConfig);
+        return solverConfig.withPhaseList(phaseConfigs);
+    }
+
+    private static Map<String, LudoSchedule> loadProblems(Arguments arguments) throws IOException {
+        Map<String, LudoSchedule> problems = new LinkedHashMap<>();
+        problems.put("example", SeasonLoader.load(EXAMPLE_DATES, EXAMPLE_ANSWERS));
+        for (String size : arguments.getString("generated", "200x300,400x600").split(",")) {
+            if (size.isBlank()) {
+                continue;
+            }
+            String[] peopleAndShifts = size.trim().split("x");
+            if (peopleAndShifts.length != 2) {
+                throw new IllegalArgumentException("Expected people x shifts, e.g. 200x300, but got " + size);
+            }
+            problems.put("generated-" + size.trim(), SeasonGenerator.builder()
+                    .people(Integer.parseInt(peopleAndShifts[0]))
+                    .shifts(Integer.parseInt(peopleAndShifts[1]))
+                    .seed(arguments.getLong("seed", 0))
+                    .build()
+                    .generate());
+        }
+        Path archive = Path.of(arguments.getString("archive", "src/main/resources"));
+        if (Files.isDirectory(archive)) {
+            try (Stream<Path> seasons = Files.list(archive)) {
+                for (Path season : seasons.filter(AlgorithmBenchmark::isSeason).sorted().toList()) {
+                    problems.put(season.getFileName().toString(), SeasonLoader.load(season));
+                }
+            }
+        }
+        return problems;
+    }
+
+    private static boolean isSeason(Path directory) {
+        return Files.isRegularFile(directory.resolve(SeasonLoader.DATES_FILE))
+                && Files.isRegularFile(directory.resolve(SeasonLoader.ANSWERS_FILE));
+    }
+
+    private static List<File> writeProblems(Map<String, LudoSchedule> problems, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<File> files = new ArrayList<>();
+        for (Map.Entry<String, LudoSchedule> problem : problems.entrySet()) {
+            Path file = directory.resolve(problem.getKey() + "." + SnapshotFileIO.EXTENSION);
+            ScheduleSnapshot.write(problem.getValue(), file);
+            LOGGER.info("Season {}: {} people, {} shifts", problem.getKey(), problem.getValue().getPeople().size(),
+                    problem.getValue().getShifts().size());
+            files.add(file.toFile());
+        }
+        return files;
+    }
+
+    /**
+     * Lets the benchmarker read and write {@link ScheduleSnapshot}s.
+     */
+    public static class SnapshotFileIO implements SolutionFileIO<LudoSchedule> {
+        static final String EXTENSION = "ludo";
+
+        @Override
+        public String getInputFileExtension() {
+            return EXTENSION;
+        }
+
+        @Override
+        public LudoSchedule read(File inputSolutionFile) {
+            try {
+                return ScheduleSnapshot.read(inputSolutionFile.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void write(LudoSchedule solution, File outputSolutionFile) {
+            try {
+                ScheduleSnapshot.write(solution, outputSolutionFile.toPath());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
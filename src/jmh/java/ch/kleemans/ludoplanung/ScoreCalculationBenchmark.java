@@ -0,0 +1,123 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link LudoConstraintProvider} on its own, without the solver around it.
+ * <p>
+ * {@link #fullScoreCalculation()} rebuilds the whole score from scratch, the move benchmarks do a move, calculate the
+ * score incrementally and undo the move again, like the local search does for every evaluated move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreCalculationBenchmark {
+
+    private static final long SEED = 42;
+
+    // People x shifts, generated by the SeasonGenerator
+    @Param({"20x40", "100x150", "500x500"})
+    private String season;
+
+    // "all", or the name of a single constraint to measure it in isolation (all others get a zero weight)
+    @Param({"all"})
+    private String constraint;
+
+    private LudoSchedule schedule;
+    private InnerScoreDirector<LudoSchedule, HardSoftLongScore> scoreDirector;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] size = season.split("x");
+        schedule = createSeason(Integer.parseInt(size[0]), Integer.parseInt(size[1]), new Random(SEED));
+
+        SolverFactory<LudoSchedule> solverFactory = SolverFactory.create(new SolverConfig()
+                .withSolutionClass(LudoSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(LudoConstraintProvider.class));
+        if (!constraint.equals("all")) {
+            schedule.setConstraintWeightOverrides(ConstraintTimer.onlyConstraint(solverFactory, constraint));
+        }
+
+        DefaultSolverFactory<LudoSchedule> defaultSolverFactory = (DefaultSolverFactory<LudoSchedule>) solverFactory;
+        scoreDirector = defaultSolverFactory.<HardSoftLongScore>getScoreDirectorFactory().buildScoreDirector();
+        scoreDirector.setWorkingSolution(schedule);
+        scoreDirector.calculateScore();
+        random = new SplittableRandom(SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scoreDirector.close();
+    }
+
+    @Benchmark
+    public Object fullScoreCalculation() {
+        scoreDirector.setWorkingSolution(schedule);
+        return scoreDirector.calculateScore();
+    }
+
+    @Benchmark
+    public Object changeMove() {
+        Shift shift = schedule.getShifts().get(random.nextInt(schedule.getShifts().size()));
+        Person person = schedule.getPeople().get(random.nextInt(schedule.getPeople().size()));
+
+        Person oldPerson = shift.getPersonA();
+        changePersonA(shift, person);
+        Object score = scoreDirector.calculateScore();
+        changePersonA(shift, oldPerson);
+        return score;
+    }
+
+    @Benchmark
+    public Object swapMove() {
+        Shift left = schedule.getShifts().get(random.nextInt(schedule.getShifts().size()));
+        Shift right = schedule.getShifts().get(random.nextInt(schedule.getShifts().size()));
+
+        Person leftPerson = left.getPersonA();
+        Person rightPerson = right.getPersonB();
+        changePersonA(left, rightPerson);
+        changePersonB(right, leftPerson);
+        Object score = scoreDirector.calculateScore();
+        changePersonB(right, rightPerson);
+        changePersonA(left, leftPerson);
+        return score;
+    }
+
+    private void changePersonA(Shift shift, Person person) {
+        scoreDirector.beforeVariableChanged(shift, "personA");
+        shift.setPersonA(person);
+        scoreDirector.afterVariableChanged(shift, "personA");
+    }
+
+    private void changePersonB(Shift shift, Person person) {
+        scoreDirector.beforeVariableChanged(shift, "personB");
+        shift.setPersonB(person);
+        scoreDirector.afterVariableChanged(shift, "personB");
+    }
+
+    private static LudoSchedule createSeason(int people, int shifts, Random random) {
+        LudoSchedule season = SeasonGenerator.builder().people(people).shifts(shifts).seed(SEED).build().generate();
+        for (Shift shift : season.getShifts()) {
+            shift.setPersonA(season.getPeople().get(random.nextInt(people)));
+            shift.setPersonB(season.getPeople().get(random.nextInt(people)));
+        }
+        return season;
+    }
+}
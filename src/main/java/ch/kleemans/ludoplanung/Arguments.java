@@ -0,0 +1,72 @@
+package ch.kleemans.ludoplanung;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+/**
+ * Command line arguments of the form {@code --key=value}, or {@code --flag} without a value.
+ * <p>
+ * With {@code --config=<file>}, the keys of that properties file are used for everything not given on the command line.
+ */
+public class Arguments {
+    private final Map<String, String> values = new HashMap<>();
+
+    public Arguments(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Invalid argument, expected --key=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        if (has("config")) {
+            Path configFile = Path.of(values.get("config"));
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(configFile)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read config file " + configFile, e);
+            }
+            properties.stringPropertyNames().forEach(key -> values.putIfAbsent(key, properties.getProperty(key)));
+        }
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return has(key) ? parse(key, Integer::parseInt) : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return has(key) ? parse(key, Long::parseLong) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return has(key) ? parse(key, Double::parseDouble) : defaultValue;
+    }
+
+    private <T> T parse(String key, Function<String, T> parser) {
+        try {
+            return parser.apply(values.get(key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for --" + key + ": " + values.get(key));
+        }
+    }
+}
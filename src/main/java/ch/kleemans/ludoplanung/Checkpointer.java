@@ -0,0 +1,114 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Writes the best solution as {@link ScheduleSnapshot} while solving, so a killed run can be resumed from there.
+ * <p>
+ * Meant to be called from the best solution listener: {@link #accept(LudoSchedule)} only hands the solution over to a
+ * background thread and never blocks the solver. Solutions found while a checkpoint is written, or within the minimum
+ * interval after it, are coalesced, only the latest one is written.
+ */
+public class Checkpointer implements Consumer<LudoSchedule>, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Checkpointer.class);
+
+    private final Path file;
+    private final long minIntervalNanos;
+    private final AtomicReference<LudoSchedule> pending = new AtomicReference<>();
+    private final CountDownLatch closing = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "checkpointer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guarded by this, solvers of a portfolio call accept() concurrently
+    private HardSoftLongScore bestScore;
+    // Only used on the checkpointer thread
+    private long lastWriteNanos;
+
+    /**
+     * @param minInterval between two checkpoints, solutions found in between are coalesced
+     */
+    public Checkpointer(Path file, Duration minInterval) {
+        this.file = file;
+        this.minIntervalNanos = minInterval.toNanos();
+        this.lastWriteNanos = System.nanoTime() - minIntervalNanos;
+    }
+
+    /**
+     * Checkpoints the given best solution, unless a better one was given before (e.g. by another solver of a
+     * {@link PortfolioSolver}). The solution must not be changed afterwards, the best solution of a
+     * {@code BestSolutionChangedEvent} is a copy that the solver doesn't touch anymore.
+     */
+    @Override
+    public synchronized void accept(LudoSchedule bestSolution) {
+        if (closing.getCount() == 0 || bestScore != null && bestSolution.getScore().compareTo(bestScore) <= 0) {
+            return;
+        }
+        bestScore = bestSolution.getScore();
+        if (pending.getAndSet(bestSolution) == null) {
+            // Otherwise a write is already queued, and will pick up this solution
+            executor.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        long waitNanos = lastWriteNanos + minIntervalNanos - System.nanoTime();
+        if (waitNanos > 0) {
+            try {
+                // Returns early when closing, to write right away
+                closing.await(waitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        LudoSchedule solution = pending.getAndSet(null);
+        if (solution == null) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            ScheduleSnapshot.write(solution, file);
+            lastWriteNanos = System.nanoTime();
+            LOGGER.debug("Checkpoint with score {} written in {} ms", solution.getScore(),
+                    TimeUnit.NANOSECONDS.toMillis(lastWriteNanos - start));
+        } catch (IOException | RuntimeException e) {
+            // Solving goes on, the next checkpoint may work again
+            LOGGER.warn("Could not write checkpoint {}", file, e);
+        }
+    }
+
+    /**
+     * Writes the last solution right away (if not written yet) and stops the background thread.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closing.countDown();
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Checkpoint {} not written within 1 minute", file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
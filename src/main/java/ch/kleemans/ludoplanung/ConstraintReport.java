@@ -0,0 +1,91 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Explains the score of a schedule per constraint and per person (see {@link ScoreBreakdown}), and with
+ * {@code --timing} also how much of the score calculation time each constraint takes (see {@link ConstraintTimer}).
+ * Writes one line per constraint as CSV.
+ * <p>
+ * The schedule is a snapshot ({@code --snapshot}), or a generated season solved for {@code --seconds}.
+ */
+public class ConstraintReport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConstraintReport.class);
+
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        Path output = Path.of(arguments.getString("out", "build/constraint-report.csv"));
+        int top = arguments.getInt("top", 10);
+
+        SolverConfig solverConfig = LudoApp.createSolverConfig(arguments)
+                .withTerminationSpentLimit(Duration.ofSeconds(arguments.getLong("seconds", 10)));
+        SolverFactory<LudoSchedule> solverFactory = SolverFactory.create(solverConfig);
+        LudoSchedule schedule;
+        if (arguments.has("snapshot")) {
+            schedule = ScheduleSnapshot.read(Path.of(arguments.getString("snapshot", null)));
+        } else {
+            LudoSchedule season = SeasonGenerator.builder()
+                    .people(arguments.getInt("people", 100))
+                    .shifts(arguments.getInt("shifts", 150))
+                    .seed(arguments.getLong("seed", 0))
+                    .build()
+                    .generate();
+            LOGGER.info("Solving a generated season for {}", solverConfig.getTerminationConfig().getSpentLimit());
+            schedule = solverFactory.buildSolver().solve(season);
+        }
+
+        ScoreBreakdown breakdown = ScoreBreakdown.of(SolutionManager.create(solverFactory), schedule);
+        Map<String, ConstraintTimer.ConstraintTime> times = new HashMap<>();
+        if (arguments.has("timing")) {
+            Duration measurement = Duration.ofSeconds(arguments.getLong("timing-seconds", 2));
+            LOGGER.info("Measuring each constraint for {}", measurement);
+            List<ConstraintTimer.ConstraintTime> constraintTimes = new ConstraintTimer(measurement.dividedBy(2), measurement,
+                    arguments.getLong("seed", 0)).measure(schedule);
+            constraintTimes.forEach(constraintTime -> times.put(constraintTime.constraintName(), constraintTime));
+        }
+
+        LOGGER.info("Score {}, per constraint:", breakdown.getScore());
+        for (ScoreBreakdown.ConstraintImpact impact : breakdown.getConstraintImpacts()) {
+            ConstraintTimer.ConstraintTime time = times.get(impact.constraintName());
+            LOGGER.info("  {}: {} ({} matches){}", impact.constraintName(), impact.score(), impact.matchCount(),
+                    time == null ? "" : String.format(", %.0f ns per move", time.nanosPerMove()));
+        }
+        if (times.containsKey(ConstraintTimer.ALL)) {
+            LOGGER.info("  All constraints together: {} ns per move", String.format("%.0f", times.get(ConstraintTimer.ALL).nanosPerMove()));
+        }
+        LOGGER.info("Worst {} of {} people with a penalty:", Math.min(top, breakdown.getPersonImpacts().size()),
+                breakdown.getPersonImpacts().size());
+        for (ScoreBreakdown.PersonImpact impact : breakdown.getPersonImpacts().subList(0, Math.min(top, breakdown.getPersonImpacts().size()))) {
+            LOGGER.info("  {}: {} {}", impact.person(), impact.score(), impact.scoreByConstraint());
+        }
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            writer.println("constraint,hardScore,softScore,matches,nanosPerMove");
+            for (ScoreBreakdown.ConstraintImpact impact : breakdown.getConstraintImpacts()) {
+                ConstraintTimer.ConstraintTime time = times.get(impact.constraintName());
+                writer.println("\"" + impact.constraintName() + "\"," + impact.score().hardScore() + ","
+                        + impact.score().softScore() + "," + impact.matchCount() + ","
+                        + (time == null ? "" : String.format("%.0f", time.nanosPerMove())));
+            }
+        }
+        LOGGER.info("Constraints written to {}", output.toAbsolutePath());
+    }
+}
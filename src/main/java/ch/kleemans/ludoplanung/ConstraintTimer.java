@@ -0,0 +1,153 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Measures how much time the incremental score calculation spends per constraint. Timefold has no timing per
+ * constraint stream, so each constraint is measured on its own: all other constraints get a zero weight, which leaves
+ * them out of the score calculation altogether. Like the local search, random change moves are done, the score is
+ * calculated and the move is undone.
+ * <p>
+ * The times of the constraints on their own add up to a bit more than all of them together, because the shared part
+ * (e.g. the shifts the constraints start from) is measured for each of them.
+ */
+public class ConstraintTimer {
+    public static final String ALL = "all";
+
+    public record ConstraintTime(String constraintName, long moveCount, double nanosPerMove) {
+    }
+
+    private final SolverFactory<LudoSchedule> solverFactory;
+    private final Duration warmUp;
+    private final Duration measurement;
+    private final long seed;
+
+    public ConstraintTimer(Duration warmUp, Duration measurement, long seed) {
+        this.solverFactory = SolverFactory.create(new SolverConfig()
+                .withSolutionClass(LudoSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(LudoConstraintProvider.class));
+        this.warmUp = warmUp;
+        this.measurement = measurement;
+        this.seed = seed;
+    }
+
+    /**
+     * All constraints together (as {@link #ALL}) and each constraint on its own. The constraint weight overrides of
+     * the schedule are restored afterwards.
+     */
+    public List<ConstraintTime> measure(LudoSchedule schedule) {
+        ConstraintWeightOverrides<HardSoftLongScore> originalOverrides = schedule.getConstraintWeightOverrides();
+        List<ConstraintTime> times = new ArrayList<>();
+        try {
+            times.add(measure(schedule, ALL, originalOverrides));
+            for (String constraintName : constraintNames(solverFactory)) {
+                times.add(measure(schedule, constraintName, onlyConstraint(solverFactory, constraintName)));
+            }
+        } finally {
+            schedule.setConstraintWeightOverrides(originalOverrides);
+        }
+        return times;
+    }
+
+    private ConstraintTime measure(LudoSchedule schedule, String constraintName,
+                                   ConstraintWeightOverrides<HardSoftLongScore> overrides) {
+        schedule.setConstraintWeightOverrides(overrides);
+        List<Shift> shifts = schedule.getShifts().stream().filter(shift -> !shift.isPinned()).toList();
+        if (shifts.isEmpty()) {
+            return new ConstraintTime(constraintName, 0, 0);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        DefaultSolverFactory<LudoSchedule> defaultSolverFactory = (DefaultSolverFactory<LudoSchedule>) solverFactory;
+        try (InnerScoreDirector<LudoSchedule, HardSoftLongScore> scoreDirector =
+                     defaultSolverFactory.<HardSoftLongScore>getScoreDirectorFactory().buildScoreDirector()) {
+            scoreDirector.setWorkingSolution(schedule);
+            scoreDirector.calculateScore();
+            doMoves(scoreDirector, shifts, random, warmUp);
+            long start = System.nanoTime();
+            long moveCount = doMoves(scoreDirector, shifts, random, measurement);
+            return new ConstraintTime(constraintName, moveCount, (double) (System.nanoTime() - start) / moveCount);
+        }
+    }
+
+    private static long doMoves(InnerScoreDirector<LudoSchedule, HardSoftLongScore> scoreDirector, List<Shift> shifts,
+                                SplittableRandom random, Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long moveCount = 0;
+        // Checking the clock is not free, so only every few moves
+        do {
+            for (int i = 0; i < 100; i++) {
+                Shift shift = shifts.get(random.nextInt(shifts.size()));
+                String variableName = random.nextBoolean() ? "personA" : "personB";
+                List<Person> availablePeople = shift.getAvailablePeople();
+                Person person = availablePeople.get(random.nextInt(availablePeople.size()));
+
+                Person oldPerson = variableName.equals("personA") ? shift.getPersonA() : shift.getPersonB();
+                change(scoreDirector, shift, variableName, person);
+                scoreDirector.calculateScore();
+                change(scoreDirector, shift, variableName, oldPerson);
+            }
+            moveCount += 100;
+        } while (System.nanoTime() < deadline);
+        return moveCount;
+    }
+
+    private static void change(InnerScoreDirector<LudoSchedule, HardSoftLongScore> scoreDirector, Shift shift,
+                               String variableName, Person person) {
+        scoreDirector.beforeVariableChanged(shift, variableName);
+        if (variableName.equals("personA")) {
+            shift.setPersonA(person);
+        } else {
+            shift.setPersonB(person);
+        }
+        scoreDirector.afterVariableChanged(shift, variableName);
+    }
+
+    /**
+     * The names of all constraints, sorted.
+     */
+    public static TreeSet<String> constraintNames(SolverFactory<LudoSchedule> solverFactory) {
+        // The analysis of an empty schedule still lists every constraint
+        return SolutionManager.create(solverFactory)
+                .analyze(new LudoSchedule(new ArrayList<>(), new ArrayList<>()))
+                .constraintMap().keySet().stream()
+                .map(constraintRef -> constraintRef.constraintName())
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Weight overrides that leave only the given constraint, all others get a zero weight.
+     */
+    public static ConstraintWeightOverrides<HardSoftLongScore> onlyConstraint(SolverFactory<LudoSchedule> solverFactory,
+                                                                             String constraintName) {
+        TreeSet<String> constraintNames = constraintNames(solverFactory);
+        if (!constraintNames.contains(constraintName)) {
+            throw new IllegalArgumentException("Unknown constraint: " + constraintName + ", expected one of " + constraintNames);
+        }
+        Map<String, HardSoftLongScore> weights = new HashMap<>();
+        for (String name : constraintNames) {
+            if (!name.equals(constraintName)) {
+                weights.put(name, HardSoftLongScore.ZERO);
+            }
+        }
+        return ConstraintWeightOverrides.of(weights);
+    }
+}
@@ -0,0 +1,134 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.api.solver.phase.PhaseCommand;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import ch.kleemans.ludoplanung.domain.Util;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+import static ch.kleemans.ludoplanung.LudoConstraintProvider.PLANNING_MONTHS;
+
+/**
+ * Builds a first schedule in one pass, instead of the default construction heuristic that knows nothing about the
+ * constraints and leaves a lot of broken ones for local search.
+ * <p>
+ * The shifts with the fewest available people are filled first. Each seat gets the person who is (in this order)
+ * available on the date, not planned in the same week yet, not planned at all yet, furthest below their ideal load, and
+ * doesn't mind the day of week. Seats that are already filled (e.g. of a snapshot) and pinned shifts stay as they are.
+ */
+public class GreedyConstruction implements PhaseCommand<LudoSchedule> {
+
+    private static final class Load {
+        private final float idealCount;
+        private final double expectedGapDays;
+        private final Set<Integer> weekKeys = new HashSet<>();
+        private final TreeSet<Long> epochDays = new TreeSet<>();
+        private int count;
+
+        private Load(Person person) {
+            this.idealCount = person.getIdealLoad() * PLANNING_MONTHS;
+            this.expectedGapDays = Util.getExpectedGapDays(person);
+        }
+
+        private void add(Shift shift) {
+            count++;
+            weekKeys.add(shift.getWeekKey());
+            epochDays.add(shift.getEpochDay());
+        }
+
+        // Whether another shift is closer than the expected gap, see ShiftDistributionCollector
+        private boolean isTooClose(Shift shift) {
+            Long previous = epochDays.floor(shift.getEpochDay());
+            Long next = epochDays.ceiling(shift.getEpochDay());
+            return previous != null && shift.getEpochDay() - previous < expectedGapDays
+                    || next != null && next - shift.getEpochDay() < expectedGapDays;
+        }
+    }
+
+    @Override
+    public void changeWorkingSolution(ScoreDirector<LudoSchedule> scoreDirector, BooleanSupplier isPhaseTerminated) {
+        LudoSchedule schedule = scoreDirector.getWorkingSolution();
+        Map<Person, Load> loads = new HashMap<>();
+        for (Person person : schedule.getPeople()) {
+            loads.put(person, new Load(person));
+        }
+        List<Shift> openShifts = new ArrayList<>();
+        for (Shift shift : schedule.getShifts()) {
+            for (Person person : Arrays.asList(shift.getPersonA(), shift.getPersonB())) {
+                if (person != null) {
+                    loads.computeIfAbsent(person, Load::new).add(shift);
+                }
+            }
+            if (!shift.isPinned() && (shift.getPersonA() == null || shift.getPersonB() == null)) {
+                openShifts.add(shift);
+            }
+        }
+        // Most constrained first
+        Map<Shift, Integer> availableCounts = new HashMap<>();
+        for (Shift shift : openShifts) {
+            availableCounts.put(shift, (int) shift.getAvailablePeople().stream().filter(person -> person.isAvailable(shift)).count());
+        }
+        openShifts.sort(Comparator.<Shift, Integer>comparing(availableCounts::get).thenComparingLong(Shift::getEpochDay));
+
+        for (Shift shift : openShifts) {
+            if (isPhaseTerminated.getAsBoolean()) {
+                return;
+            }
+            if (shift.getPersonA() == null) {
+                assign(scoreDirector, shift, "personA", best(shift, shift.getPersonB(), loads), loads);
+            }
+            if (shift.getPersonB() == null) {
+                assign(scoreDirector, shift, "personB", best(shift, shift.getPersonA(), loads), loads);
+            }
+        }
+    }
+
+    private static Person best(Shift shift, Person otherSeat, Map<Person, Load> loads) {
+        Person best = null;
+        int bestFlaws = Integer.MAX_VALUE;
+        float bestExcess = Float.MAX_VALUE;
+        boolean bestUnwanted = true;
+        // The value range of a shift has at least two people, so there is always somebody besides the other seat
+        for (Person person : shift.getAvailablePeople()) {
+            if (person.equals(otherSeat)) {
+                continue;
+            }
+            Load load = loads.computeIfAbsent(person, Load::new);
+            // By importance, see the class comment
+            int flaws = (person.isAvailable(shift) ? 0 : 16)
+                    | (load.weekKeys.contains(shift.getWeekKey()) ? 8 : 0)
+                    | (load.count > 0 ? 4 : 0)
+                    | (load.isTooClose(shift) ? 2 : 0);
+            float excess = load.count - load.idealCount;
+            boolean unwanted = person.isUnwantedDate(shift);
+            if (flaws < bestFlaws || flaws == bestFlaws && (excess < bestExcess || excess == bestExcess && bestUnwanted && !unwanted)) {
+                best = person;
+                bestFlaws = flaws;
+                bestExcess = excess;
+                bestUnwanted = unwanted;
+            }
+        }
+        return best;
+    }
+
+    private static void assign(ScoreDirector<LudoSchedule> scoreDirector, Shift shift, String variableName, Person person,
+                               Map<Person, Load> loads) {
+        if (person == null) {
+            // Left to the construction heuristic
+            return;
+        }
+        scoreDirector.beforeVariableChanged(shift, variableName);
+        if (variableName.equals("personA")) {
+            shift.setPersonA(person);
+        } else {
+            shift.setPersonB(person);
+        }
+        scoreDirector.afterVariableChanged(shift, variableName);
+        scoreDirector.triggerVariableListeners();
+        loads.computeIfAbsent(person, Load::new).add(shift);
+    }
+}
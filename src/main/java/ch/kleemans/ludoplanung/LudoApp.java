@@ -1,129 +1,320 @@
 package ch.kleemans.ludoplanung;
 
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
 import ai.timefold.solver.core.api.solver.Solver;
 import ai.timefold.solver.core.api.solver.SolverFactory;
 import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.MoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.composite.UnionMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.factory.MoveIteratorFactoryConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.ChangeMoveSelectorConfig;
+import ai.timefold.solver.core.config.heuristic.selector.move.generic.SwapMoveSelectorConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.phase.custom.CustomPhaseConfig;
 import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ch.kleemans.ludoplanung.data.ScheduleReport;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.data.SeasonFormatException;
+import ch.kleemans.ludoplanung.data.SeasonLoader;
 import ch.kleemans.ludoplanung.domain.LudoSchedule;
-import ch.kleemans.ludoplanung.domain.Person;
 import ch.kleemans.ludoplanung.domain.Shift;
-import ch.kleemans.ludoplanung.domain.Util;
+import ch.kleemans.ludoplanung.move.AdjacentDateMoveFactory;
+import ch.kleemans.ludoplanung.move.ChainRotateMoveFactory;
+import ch.kleemans.ludoplanung.move.CrossWeekSwapMoveFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class LudoApp {
     private static final Logger LOGGER = LoggerFactory.getLogger(LudoApp.class);
 
-    private static final String SEASON = "2026-1";
-    private static final Duration TIME_LIMIT = Duration.ofMinutes(5);
+    private static final String DEFAULT_SEASON = "src/main/resources/2026-1";
+    // Not relative to the working directory, which may not be writable
+    private static final Path DEFAULT_CHECKPOINT = Path.of(System.getProperty("java.io.tmpdir"), "ludo-checkpoint.ludo");
 
-    public static void main(String[] args) {
-        SolverFactory<LudoSchedule> solverFactory = SolverFactory.create(new SolverConfig()
-                .withSolutionClass(LudoSchedule.class)
-                .withEntityClasses(Shift.class)
-                .withConstraintProviderClass(LudoConstraintProvider.class)
-                // It's recommended to run for at least 5 minutes
-                .withTerminationSpentLimit(TIME_LIMIT));
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Arguments arguments = new Arguments(args);
+        SolverConfig solverConfig = createSolverConfig(arguments);
+        TerminationPolicy terminationPolicy = new TerminationPolicy(arguments);
+        ScheduleReport.Format reportFormat = ScheduleReport.Format.parse(arguments.getString("report-format", "text"));
+        SolverTelemetry.Format metricsFormat = SolverTelemetry.Format.parse(arguments.getString("metrics-format", "csv"));
+        Duration metricsInterval = metricsInterval(arguments);
+        if (arguments.has("replan") && arguments.has("unimproved-seconds")) {
+            // The re-planner replaces it with the settle time
+            throw new IllegalArgumentException("--unimproved-seconds doesn't apply to --replan, use --settle-seconds");
+        }
+        if ((arguments.has("metrics") || arguments.has("metrics-port"))
+                && (arguments.has("portfolio") || arguments.has("replan") || arguments.has("serve"))) {
+            // Telemetry samples one solver, these run several of them
+            throw new IllegalArgumentException("--metrics and --metrics-port don't apply to --portfolio, --replan and --serve");
+        }
+        if (arguments.has("serve")) {
+            serve(solverConfig, terminationPolicy, arguments);
+            return;
+        }
 
         // Load the problem
-        LudoSchedule problem = loadData();
-        System.out.println("Loaded people:" + problem.getPeople());
-        System.out.println("Loaded shifts:" + problem.getShifts());
-
-        for (var shift : problem.getShifts()) {
-            var availablePeople = "";
-            for (var person : problem.getPeople()) {
-                if (person.isAvailable(shift.getDate())) {
-                    availablePeople += person.getName() + ", ";
-                }
+        LudoSchedule problem;
+        try {
+            problem = loadProblem(arguments);
+        } catch (SeasonFormatException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        LudoSchedule solution;
+        if (arguments.has("replan")) {
+            solution = replan(solverConfig, terminationPolicy, arguments, problem);
+        } else {
+            solution = solve(solverConfig, terminationPolicy, arguments, metricsFormat, metricsInterval, problem);
+        }
+
+        writeReport(solverConfig, arguments, reportFormat, solution);
+        if (arguments.has("save")) {
+            Path snapshot = Path.of(arguments.getString("save", null));
+            ScheduleSnapshot.write(solution, snapshot);
+            LOGGER.info("Solution saved to {}", snapshot.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Keeps running and solves the seasons submitted over HTTP (see {@link SolverServer}), until the JVM is stopped.
+     */
+    private static void serve(SolverConfig solverConfig, TerminationPolicy terminationPolicy, Arguments arguments)
+            throws IOException {
+        SolverService solverService = new SolverService(solverConfig, terminationPolicy,
+                arguments.getString("parallel-solvers", SolverManagerConfig.PARALLEL_SOLVER_COUNT_AUTO),
+                arguments.getInt("max-jobs", 20));
+        SolverServer server = new SolverServer(solverService, SolutionManager.create(SolverFactory.create(solverConfig)),
+                arguments.getInt("port", 8080));
+        // The HTTP server keeps the JVM running
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    }
+
+    private static void writeReport(SolverConfig solverConfig, Arguments arguments, ScheduleReport.Format format,
+                                    LudoSchedule solution) throws IOException {
+        SolutionManager<LudoSchedule, HardSoftLongScore> solutionManager = SolutionManager.create(SolverFactory.create(solverConfig));
+        ScheduleReport report = new ScheduleReport(solution,
+                solutionManager.analyze(solution, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT));
+        if (arguments.has("report")) {
+            Path reportFile = Path.of(arguments.getString("report", null));
+            try (Writer writer = Files.newBufferedWriter(reportFile)) {
+                report.write(writer, format);
             }
-            System.out.println(shift + ": " + availablePeople);
+            LOGGER.info("Report written to {}", reportFile.toAbsolutePath());
+        } else {
+            // Not closed, that would close System.out
+            report.write(new BufferedWriter(new OutputStreamWriter(System.out)), format);
+        }
+    }
 
+    private static LudoSchedule solve(SolverConfig solverConfig, TerminationPolicy terminationPolicy, Arguments arguments,
+                                      SolverTelemetry.Format metricsFormat, Duration metricsInterval,
+                                      LudoSchedule problem) throws IOException {
+        if (arguments.has("freeze-before")) {
+            // Only the rest of the season is searched, e.g. when continuing from a snapshot or checkpoint
+            LocalDate freezeDate = LocalDate.parse(arguments.getString("freeze-before", null));
+            int frozen = problem.freezeBefore(freezeDate);
+            LOGGER.info("{} of {} shifts before {} are frozen", frozen, problem.getShifts().size(), freezeDate);
+        }
+        if (LOGGER.isDebugEnabled()) {
+            long understaffed = problem.getShifts().stream()
+                    .filter(shift -> problem.getPeople().stream().filter(person -> person.isAvailable(shift)).limit(2).count() < 2)
+                    .count();
+            LOGGER.debug("Loaded {} people and {} shifts, {} shifts with fewer than 2 available people",
+                    problem.getPeople().size(), problem.getShifts().size(), understaffed);
         }
+        // After freezing, the frozen shifts don't need any time
+        solverConfig.withTerminationConfig(terminationPolicy.terminationConfig(problem));
+        LOGGER.info("Solving for at most {} ({})", terminationPolicy.timeLimit(problem), terminationPolicy);
 
-        // Solve the problem
-        Solver<LudoSchedule> solver = solverFactory.buildSolver();
-        solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) -> {
-            // This is called every time a new best solution is found
-            var score = event.getNewBestScore();
-            LOGGER.info("New best score: {}", score);
-            LOGGER.debug("New best solution: {}", event.getNewBestSolution());
-        });
+        // Solve the problem. If asked for, the best solution so far is written to the checkpoint every few seconds
+        try (Checkpointer checkpointer = arguments.has("checkpoint") || arguments.has("resume")
+                ? new Checkpointer(checkpointFile(arguments), Duration.ofSeconds(arguments.getLong("checkpoint-interval", 10)))
+                : null) {
+            if (arguments.has("portfolio")) {
+                return solvePortfolio(solverConfig, terminationPolicy.timeLimit(problem), arguments, problem, checkpointer);
+            } else {
+                Solver<LudoSchedule> solver = SolverFactory.<LudoSchedule>create(solverConfig).buildSolver();
+                solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) -> {
+                    // This is called every time a new best solution is found
+                    var score = event.getNewBestScore();
+                    LOGGER.info("New best score: {}", score);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("New best solution: {}", ScheduleReport.toText(event.getNewBestSolution()));
+                    }
+                    if (checkpointer != null) {
+                        checkpointer.accept(event.getNewBestSolution());
+                    }
+                });
 
+                if (!arguments.has("metrics") && !arguments.has("metrics-port")) {
+                    return solver.solve(problem);
+                }
+                try (SolverTelemetry telemetry = new SolverTelemetry(
+                        arguments.has("metrics") ? Path.of(arguments.getString("metrics", null)) : null, metricsFormat,
+                        arguments.has("metrics-port") ? arguments.getInt("metrics-port", 0) : null,
+                        metricsInterval)) {
+                    telemetry.start((DefaultSolver<LudoSchedule>) solver);
+                    return solver.solve(problem);
+                }
+            }
+        }
+    }
+
+    private static LudoSchedule replan(SolverConfig solverConfig, TerminationPolicy terminationPolicy, Arguments arguments,
+                                       LudoSchedule season) throws IOException, InterruptedException {
+        LudoSchedule published = ScheduleSnapshot.read(Path.of(arguments.getString("replan", null)));
+        Set<LocalDate> publishedDates = published.getShifts().stream().map(Shift::getDate).collect(Collectors.toSet());
+        if (!season.getShifts().stream().map(Shift::getDate).collect(Collectors.toSet()).equals(publishedDates)) {
+            LOGGER.warn("The shift dates differ from the published schedule, only changes of the people are re-planned");
+        }
+        if (arguments.has("confirmed-until")) {
+            LocalDate confirmedUntil = LocalDate.parse(arguments.getString("confirmed-until", null));
+            published.getShifts().stream()
+                    .filter(shift -> shift.getDate().isBefore(confirmedUntil))
+                    .forEach(shift -> shift.setPinned(true));
+        }
 
-        LudoSchedule solution = solver.solve(problem);
+        List<PersonChange> changes = PersonChange.between(published, season.getPeople());
+        LOGGER.info("{} change(s) since the published schedule", changes.size());
+        // Re-planning ends once settled. The solver runs as daemon, so the time limit of the policy starts again with
+        // every change, and only limits how long the solver works on each of them
+        solverConfig.withTerminationConfig(terminationPolicy.terminationConfig(published));
+        Replanner replanner = new Replanner(solverConfig,
+                LocalDate.parse(arguments.getString("today", LocalDate.now().toString())),
+                arguments.getInt("neighbourhood-days", 14),
+                Duration.ofSeconds(arguments.getLong("settle-seconds", 3)));
+        replanner.start(published);
+        replanner.apply(changes);
+        replanner.awaitSettled();
+        LudoSchedule solution = replanner.stop();
 
-        System.out.println(solution);
+        Map<String, Shift> publishedShifts = published.getShifts().stream()
+                .collect(Collectors.toMap(Shift::getId, Function.identity()));
+        long changedShifts = solution.getShifts().stream().filter(shift -> {
+            Shift publishedShift = publishedShifts.get(shift.getId());
+            return !Objects.equals(shift.getPersonA(), publishedShift.getPersonA())
+                    || !Objects.equals(shift.getPersonB(), publishedShift.getPersonB());
+        }).count();
+        LOGGER.info("Re-planned: {} of {} shifts changed, score {}", changedShifts, solution.getShifts().size(),
+                solution.getScore());
+        return solution;
     }
 
-    private static List<String> fileToLines(String fileName) {
-        List<String> lines;
-        try {
-            Path path = Paths.get(LudoApp.class.getClassLoader().getResource(fileName).toURI());
-            lines = Files.readAllLines(path);
-        } catch (Exception e) {
-            throw new RuntimeException("File not found! " + fileName);
+    /**
+     * @param checkpointer null to not checkpoint
+     */
+    private static LudoSchedule solvePortfolio(SolverConfig solverConfig, Duration timeLimit, Arguments arguments,
+                                               LudoSchedule problem, Checkpointer checkpointer) {
+        int runCount = arguments.getInt("portfolio", 4);
+        int threadCount = arguments.getInt("portfolio-threads", Runtime.getRuntime().availableProcessors());
+        PortfolioSolver portfolioSolver = new PortfolioSolver(solverConfig, runCount, threadCount, timeLimit);
+        if (checkpointer != null) {
+            portfolioSolver.setBestSolutionConsumer(checkpointer);
         }
-        lines.remove(0);
-        return lines;
+        PortfolioSolver.Result result = portfolioSolver.solve(problem);
+
+        LOGGER.info("Portfolio results, best first:");
+        for (PortfolioSolver.RunResult runResult : result.runResults()) {
+            LOGGER.info("  {}: score {}, last improvement after {} ms, move evaluation speed {}/sec", runResult.run(),
+                    runResult.score(), runResult.lastImprovementMillis(), runResult.moveEvaluationSpeed());
+        }
+        return result.bestSolution();
     }
 
-    public static LudoSchedule loadData() {
-        // Load Shifts
-        List<Shift> shifts = new ArrayList<>();
-        for (String line : fileToLines(SEASON + "/dates.txt")) {
-            shifts.add(new Shift(line.split("\t")[0]));
-        }
-
-        List<Person> people = new ArrayList<>();
-        var nameCol = 1;
-        var idealLoadCol = 2;
-        var unwantedCol = 3;
-        var datesCol = 4;
-        for (String line : fileToLines(SEASON + "/form_answers.csv")) {
-            var attributes = line.split(",");
-            var name = attributes[nameCol].replace("\"", "");
-            float idealLoad = Float.parseFloat(attributes[idealLoadCol]);
-            String unwantedDaysStr = attributes[unwantedCol];
-            Set<DayOfWeek> unwantedDays = Set.of();
-            if (!unwantedDaysStr.isEmpty()) {
-                unwantedDays = Arrays.stream(unwantedDaysStr.split(";")).map(Util::getDayOfWeek).collect(Collectors.toSet());
-            }
+    /**
+     * Solver configuration according to the given arguments (see README), without termination: that depends on the
+     * problem, see {@link TerminationPolicy}.
+     */
+    public static SolverConfig createSolverConfig(Arguments arguments) {
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(LudoSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(LudoConstraintProvider.class)
+                // Evaluate moves on several threads, e.g. "4" or "AUTO". Needs Timefold Enterprise (-Dprofile=enterprise)
+                .withMoveThreadCount(arguments.getString("move-threads", SolverConfig.MOVE_THREAD_COUNT_NONE));
+        List<PhaseConfig> phaseConfigs = new ArrayList<>();
+        if (!arguments.has("default-construction")) {
+            phaseConfigs.add(new CustomPhaseConfig().withCustomPhaseCommandClassList(List.of(GreedyConstruction.class)));
+        }
+        // Only assigns what is still unassigned
+        phaseConfigs.add(new ConstructionHeuristicPhaseConfig());
+        phaseConfigs.add(localSearchPhaseConfig(arguments.has("symmetry-breaking"), arguments.has("custom-moves")));
+        return solverConfig.withPhaseList(phaseConfigs);
+    }
 
-            var dateStrings = attributes[datesCol].replace("\"", "").split(";");
-            Set<LocalDate> dates = new HashSet<>();
-            for (var dateString : dateStrings) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yy");
-                var date = LocalDate.parse(dateString.split(" ")[0], formatter);
-                dates.add(date);
+    /**
+     * Local search with the default moves (change and swap), optionally without the moves that only swap person A and
+     * B (see {@link SeatSymmetryFilter}) and with the custom moves of {@code ch.kleemans.ludoplanung.move}.
+     */
+    public static LocalSearchPhaseConfig localSearchPhaseConfig(boolean symmetryBreaking, boolean customMoves) {
+        Class<SeatSymmetryFilter> filterClass = symmetryBreaking ? SeatSymmetryFilter.class : null;
+        List<MoveSelectorConfig> moveSelectorConfigs = new ArrayList<>(List.of(
+                new ChangeMoveSelectorConfig().withFilterClass(filterClass),
+                new SwapMoveSelectorConfig().withFilterClass(filterClass)));
+        if (customMoves) {
+            for (Class<? extends MoveIteratorFactory> factoryClass : List.of(CrossWeekSwapMoveFactory.class,
+                    AdjacentDateMoveFactory.class, ChainRotateMoveFactory.class)) {
+                moveSelectorConfigs.add(new MoveIteratorFactoryConfig().withMoveIteratorFactoryClass(factoryClass));
             }
-            System.out.println(name + " has available dates: " + dates);
-            people.add(Person.builder().name(name).idealLoad(idealLoad).availableDates(dates).unwantedDaysOfWeek(unwantedDays).build());
         }
+        return new LocalSearchPhaseConfig()
+                .withMoveSelectorConfig(new UnionMoveSelectorConfig().withMoveSelectorList(moveSelectorConfigs));
+    }
 
-        // Validation
-        var datesFromShifts = shifts.stream().map(Shift::getDate).collect(Collectors.toSet());
-        var datesFromPeople = people.stream().map(Person::getAvailableDates).flatMap(Collection::stream).collect(Collectors.toSet());
+    private static Duration metricsInterval(Arguments arguments) {
+        double seconds = arguments.getDouble("metrics-interval", 1);
+        // Fails before loading and solving, not once sampling starts. Also rejects NaN
+        if (!(seconds >= 0.001)) {
+            throw new IllegalArgumentException("Expected at least 0.001 seconds for --metrics-interval: " + seconds);
+        }
+        return Duration.ofMillis(Math.round(seconds * 1000));
+    }
 
-        if (!datesFromShifts.equals(datesFromPeople)) {
-            Set<LocalDate> onlyInShifts = new HashSet<>(datesFromShifts);
-            onlyInShifts.removeAll(datesFromPeople);
+    private static Path checkpointFile(Arguments arguments) {
+        return arguments.has("checkpoint") ? Path.of(arguments.getString("checkpoint", null)) : DEFAULT_CHECKPOINT;
+    }
 
-            Set<LocalDate> onlyInPeople = new HashSet<>(datesFromPeople);
-            onlyInPeople.removeAll(datesFromShifts);
-            throw new RuntimeException("Date mismatch! onlyInShifts:" + onlyInShifts + ", onlyInPeople:" + onlyInPeople);
+    private static LudoSchedule loadProblem(Arguments arguments) throws IOException {
+        if (arguments.has("resume")) {
+            Path checkpoint = checkpointFile(arguments);
+            if (Files.exists(checkpoint)) {
+                LudoSchedule schedule = ScheduleSnapshot.read(checkpoint);
+                LOGGER.info("Resuming from checkpoint {} with score {}", checkpoint.toAbsolutePath(), schedule.getScore());
+                return schedule;
+            }
+            LOGGER.info("No checkpoint {} yet, starting from scratch", checkpoint.toAbsolutePath());
         }
-
-        return new LudoSchedule(shifts, people);
+        if (arguments.has("snapshot")) {
+            // Keeps the assignments, so solving continues from there
+            return ScheduleSnapshot.read(Path.of(arguments.getString("snapshot", null)));
+        }
+        Path season = Path.of(arguments.getString("season", DEFAULT_SEASON));
+        String datesFile = arguments.getString("dates", season.resolve(SeasonLoader.DATES_FILE).toString());
+        String answersFile = arguments.getString("answers", season.resolve(SeasonLoader.ANSWERS_FILE).toString());
+        return SeasonLoader.load(datesFile, answersFile);
     }
 }
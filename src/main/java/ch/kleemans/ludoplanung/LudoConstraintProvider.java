@@ -1,25 +1,29 @@
 package ch.kleemans.ludoplanung;
 
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.score.stream.*;
+import ai.timefold.solver.core.api.score.stream.bi.BiConstraintStream;
 import ch.kleemans.ludoplanung.domain.Person;
 import ch.kleemans.ludoplanung.domain.Shift;
-import ch.kleemans.ludoplanung.domain.Util;
 import org.jspecify.annotations.NonNull;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
+import static ai.timefold.solver.core.api.score.stream.Joiners.equal;
 import static ai.timefold.solver.core.api.score.stream.Joiners.lessThan;
 
 public class LudoConstraintProvider implements ConstraintProvider {
 
     public static float PLANNING_MONTHS = 5;
 
+    // Soft scores are fixed-point with three decimals: a soft score of -1500 means -1.5
+    public static final long SOFT_SCALE = 1000;
+
     @Override
     public Constraint[] defineConstraints(@NonNull ConstraintFactory constraintFactory) {
         return new Constraint[]{
@@ -46,45 +50,51 @@ public class LudoConstraintProvider implements ConstraintProvider {
                                 shift.getPersonB() != null &&
                                 shift.getPersonA().equals(shift.getPersonB())
                 )
-                .penalize(HardSoftBigDecimalScore.ONE_HARD)
+                .penalize(HardSoftLongScore.ONE_HARD)
+                .indictWith(shift -> List.of(shift, shift.getPersonA()))
                 .asConstraint("Person A and B must be different");
     }
 
     Constraint noPersonTwiceInSameWeek(ConstraintFactory constraintFactory) {
+        // Only shifts of the same week are paired up, instead of filtering all pairs of shifts
         return constraintFactory.forEach(Shift.class)
-                .join(Shift.class, lessThan(Shift::getId))
-                .filter((s1, s2) -> {
-                    boolean samePerson =
-                            Objects.equals(s1.getPersonA(), s2.getPersonA()) ||
-                                    Objects.equals(s1.getPersonA(), s2.getPersonB()) ||
-                                    Objects.equals(s1.getPersonB(), s2.getPersonA()) ||
-                                    Objects.equals(s1.getPersonB(), s2.getPersonB());
-                    boolean sameWeek = s1.getWeekNumber() == s2.getWeekNumber();
-                    return samePerson && sameWeek;
+                .join(Shift.class,
+                        equal(Shift::getWeekKey),
+                        lessThan(Shift::getId),
+                        Joiners.filtering(LudoConstraintProvider::sharePerson)
+                )
+                .penalize(HardSoftLongScore.ONE_HARD)
+                .indictWith((s1, s2) -> {
+                    List<Object> indicted = new ArrayList<>(List.of(s1, s2));
+                    indicted.addAll(peopleOf(s1, person -> person.equals(s2.getPersonA()) || person.equals(s2.getPersonB())));
+                    return indicted;
                 })
-                .penalize(HardSoftBigDecimalScore.ONE_HARD)
                 .asConstraint("No person twice in same week");
     }
 
+    private static boolean sharePerson(Shift s1, Shift s2) {
+        return Objects.equals(s1.getPersonA(), s2.getPersonA()) ||
+                Objects.equals(s1.getPersonA(), s2.getPersonB()) ||
+                Objects.equals(s1.getPersonB(), s2.getPersonA()) ||
+                Objects.equals(s1.getPersonB(), s2.getPersonB());
+    }
+
     Constraint personOnlyWhenAvailable(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
                 .filter(shift ->
-                        !shift.getPersonA().isAvailable(shift.getDate())
-                                || !shift.getPersonB().isAvailable(shift.getDate())
+                        !shift.getPersonA().isAvailable(shift)
+                                || !shift.getPersonB().isAvailable(shift)
                 )
-                .penalize(HardSoftBigDecimalScore.ONE_HARD)
+                .penalize(HardSoftLongScore.ONE_HARD)
+                .indictWith(shift -> shiftAndPeople(shift, person -> !person.isAvailable(shift)))
                 .asConstraint("Person must be available on shift date");
     }
 
     Constraint eachPersonPlannedAtLeastOnce(ConstraintFactory factory) {
         return factory.forEach(Person.class)
-                .ifNotExists(Shift.class,
-                        Joiners.filtering((person, shift) ->
-                                Objects.equals(person, shift.getPersonA())
-                                        || Objects.equals(person, shift.getPersonB())
-                        )
-                )
-                .penalize(HardSoftBigDecimalScore.ONE_HARD)
+                .ifNotExists(Shift.class, equal(Function.identity(), Shift::getPersonA))
+                .ifNotExists(Shift.class, equal(Function.identity(), Shift::getPersonB))
+                .penalize(HardSoftLongScore.ONE_HARD)
                 .asConstraint("Each person must have at least one shift");
     }
 
@@ -92,98 +102,83 @@ public class LudoConstraintProvider implements ConstraintProvider {
     Constraint avoidUnwantedDates(ConstraintFactory constraintFactory) {
         return constraintFactory.forEach(Shift.class)
                 .filter(shift ->
-                        shift.getPersonA().isUnwantedDate(shift.getDate())
-                                || shift.getPersonB().isUnwantedDate(shift.getDate())
+                        shift.getPersonA().isUnwantedDate(shift)
+                                || shift.getPersonB().isUnwantedDate(shift)
                 )
-                .penalize(HardSoftBigDecimalScore.ofSoft(BigDecimal.valueOf(0.2)))
+                .penalize(HardSoftLongScore.ofSoft(SOFT_SCALE / 5)) // 0.2
+                .indictWith(shift -> shiftAndPeople(shift, person -> person.isUnwantedDate(shift)))
                 .asConstraint("Person should not work on unwanted day of week if possible");
     }
 
     Constraint idealMonthlyLoad(ConstraintFactory factory) {
-        return factory.forEach(Person.class)
-                .join(Shift.class,
-                        // count shifts where the person appears as A or B
-                        Joiners.filtering((person, shift) ->
-                                Objects.equals(person, shift.getPersonA())
-                                        || Objects.equals(person, shift.getPersonB())
-                        )
-                )
+        // count shifts where the person appears as A or B
+        return assignments(factory)
                 // group by person, count how many shifts they have
                 .groupBy(
                         (person, shift) -> person,
                         ConstraintCollectors.countBi()
                 )
-                .penalizeBigDecimal(HardSoftBigDecimalScore.ONE_SOFT,
+                .penalizeLong(HardSoftLongScore.ONE_SOFT,
                         (person, shiftCount) -> {
                             // ideal = idealLoad (per month) * 5 months
-                            BigDecimal ideal = BigDecimal
-                                    .valueOf(person.getIdealLoad())
-                                    .multiply(BigDecimal.valueOf(PLANNING_MONTHS));
-
-                            BigDecimal actual = BigDecimal.valueOf(shiftCount);
-                            BigDecimal delta = actual.subtract(ideal).abs(); // |actual - ideal|
+                            double ideal = person.getIdealLoad() * PLANNING_MONTHS;
+                            double delta = shiftCount - ideal;
                             // square the deviation: delta²
-                            return delta.pow(2);
+                            return Math.round(delta * delta * SOFT_SCALE);
                         }
                 )
+                .indictWith((person, shiftCount) -> List.of(person))
                 .asConstraint("Ideal monthly load per person");
     }
 
     Constraint wellDistributedShifts(ConstraintFactory factory) {
-        return factory.forEach(Person.class)
-                .join(Shift.class,
-                        Joiners.filtering((person, shift) ->
-                                Objects.equals(person, shift.getPersonA())
-                                        || Objects.equals(person, shift.getPersonB())
-                        )
-                )
+        return assignments(factory)
                 .groupBy(
                         (person, shift) -> person,
-                        ConstraintCollectors.toList((person, shift) -> shift)
+                        new ShiftDistributionCollector()
                 )
-                .penalizeBigDecimal(
-                        HardSoftBigDecimalScore.ofSoft(new BigDecimal("0.3")),
-                        this::calculateDistributionPenalty
+                // 0.3 per week, the penalty itself is in hundredths of a week
+                .penalizeLong(
+                        HardSoftLongScore.ofSoft(SOFT_SCALE * 3 / 10 / 100),
+                        (person, penalty) -> penalty
                 )
+                .indictWith((person, penalty) -> List.of(person))
                 .asConstraint("Shifts should be well distributed according to ideal load");
     }
 
-    private BigDecimal calculateDistributionPenalty(Person person, List<Shift> shifts) {
-        int n = shifts.size();
-        if (n <= 1) {
-            return BigDecimal.ZERO;
-        }
+    /**
+     * The shift and those of its people who cause a match. Only the indicted objects are listed for a match (instead of
+     * the whole tuple), so the score can be explained per person, see {@link ScoreBreakdown}. This is only evaluated
+     * when explaining a score, not while solving.
+     */
+    private static Collection<Object> shiftAndPeople(Shift shift, Predicate<Person> isCause) {
+        List<Object> indicted = new ArrayList<>(3);
+        indicted.add(shift);
+        indicted.addAll(peopleOf(shift, isCause));
+        return indicted;
+    }
 
-        // Expected gap between this person's shifts, in days.
-        // Example: idealLoad=1.0 => 28 days; idealLoad=2.0 => 14 days.
-        double expectedGapDays = Util.getExpectedGapDays(person);
-
-        // Sort shifts by date
-        List<Shift> sorted = shifts.stream()
-                .sorted(Comparator.comparing(Shift::getDate))
-                .toList();
-
-        double totalDeviationDays = 0.0;
-        // double minThreshold = 5; // Only punish if above 5 days
-        double punishFactor = 1.5f; //1.25f; // Punish outliers harder
-
-        for (int i = 1; i < sorted.size(); i++) {
-            long gapDays = ChronoUnit.DAYS.between(
-                    sorted.get(i - 1).getDate(),
-                    sorted.get(i).getDate()
-            );
-
-            var currentDeviation = expectedGapDays - gapDays;
-            if (currentDeviation > 0) {
-                totalDeviationDays += Math.pow(currentDeviation, punishFactor);
-            }
+    private static List<Person> peopleOf(Shift shift, Predicate<Person> filter) {
+        List<Person> people = new ArrayList<>(2);
+        if (shift.getPersonA() != null && filter.test(shift.getPersonA())) {
+            people.add(shift.getPersonA());
         }
+        // Both seats the same person is another constraint, it's still only one person
+        if (shift.getPersonB() != null && !shift.getPersonB().equals(shift.getPersonA()) && filter.test(shift.getPersonB())) {
+            people.add(shift.getPersonB());
+        }
+        return people;
+    }
 
-        // Convert to weeks to keep numbers reasonable
-        BigDecimal totalDeviationWeeks = BigDecimal
-                .valueOf(totalDeviationDays)
-                .divide(BigDecimal.valueOf(7), 2, RoundingMode.HALF_UP);
-
-        return totalDeviationWeeks;
+    /**
+     * Every seat (A or B) a person has in a shift. Joining on the person for each seat separately allows indexing,
+     * unlike a single join filtering on both seats. A person in both seats of a shift is listed twice, which is
+     * already penalized by {@link #noSamePersonTwiceInShift}.
+     */
+    private static BiConstraintStream<Person, Shift> assignments(ConstraintFactory factory) {
+        return factory.forEach(Person.class)
+                .join(Shift.class, equal(Function.identity(), Shift::getPersonA))
+                .concat(factory.forEach(Person.class)
+                        .join(Shift.class, equal(Function.identity(), Shift::getPersonB)));
     }
 }
@@ -0,0 +1,66 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Solves the same season once per move thread count and writes the best score over time as CSV, to see how much
+ * faster a good score is reached with more threads.
+ * <p>
+ * The runs happen one after another, so they don't compete for the cores.
+ */
+public class MoveThreadReport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveThreadReport.class);
+
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        String[] threadCounts = arguments.getString("threads", "1,2,4,8").split(",");
+        Duration timeLimit = Duration.ofSeconds(arguments.getLong("seconds", 60));
+        Path output = Path.of(arguments.getString("out", "build/move-thread-report.csv"));
+        SeasonGenerator generator = SeasonGenerator.builder()
+                .people(arguments.getInt("people", 100))
+                .shifts(arguments.getInt("shifts", 150))
+                .seed(arguments.getLong("seed", 0))
+                .build();
+
+        Map<String, ScoreTimeline> timelines = new LinkedHashMap<>();
+        for (String threadCount : threadCounts) {
+            SolverConfig solverConfig = LudoApp.createSolverConfig(arguments)
+                    .withMoveThreadCount(threadCount.equals("1") ? SolverConfig.MOVE_THREAD_COUNT_NONE : threadCount)
+                    .withTerminationSpentLimit(timeLimit);
+            Solver<LudoSchedule> solver = SolverFactory.<LudoSchedule>create(solverConfig).buildSolver();
+
+            ScoreTimeline timeline = ScoreTimeline.record(solver);
+            LOGGER.info("Solving with {} move thread(s) for {}", threadCount, timeLimit);
+            solver.solve(generator.generate());
+            timelines.put(threadCount, timeline);
+        }
+        ScoreTimeline.writeCsv(output, "threads", timelines);
+        LOGGER.info("Score over time written to {}", output.toAbsolutePath());
+
+        // Summary: how long each thread count needed for the final score of the first one
+        Optional<HardSoftLongScore> referenceScore = timelines.get(threadCounts[0]).finalScore();
+        if (referenceScore.isEmpty()) {
+            LOGGER.warn("No solution with {} thread(s), nothing to compare", threadCounts[0]);
+            return;
+        }
+        LOGGER.info("Reference: final score {} with {} thread(s)", referenceScore.get(), threadCounts[0]);
+        timelines.forEach((threadCount, timeline) -> LOGGER.info(
+                "{} thread(s): final score {}, reference score reached after {}", threadCount,
+                timeline.finalScore().map(Object::toString).orElse("none"),
+                timeline.reached(referenceScore.get()).map(point -> point.millisSpent() + " ms").orElse("never")));
+    }
+}
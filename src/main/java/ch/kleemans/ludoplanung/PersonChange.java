@@ -0,0 +1,170 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A change of the volunteers during the season, e.g. found in a new export of the form. Applied to a running solver by
+ * the {@link Replanner}.
+ */
+public sealed interface PersonChange {
+
+    /**
+     * Applies the change to the working solution of the solver, including the people the solver tries per shift.
+     *
+     * @param changeable whether a shift can still be changed, past shifts stay as they are
+     * @return the shifts affected by the change, where the schedule needs to be re-planned
+     */
+    default Set<Shift> apply(LudoSchedule schedule, ProblemChangeDirector director, Predicate<Shift> changeable) {
+        Set<Shift> affected = applyToPeople(schedule, director, changeable);
+        for (Shift shift : schedule.getShifts()) {
+            List<Person> availablePeople = schedule.availablePeopleFor(shift);
+            if (!availablePeople.equals(shift.getAvailablePeople())) {
+                director.changeProblemProperty(shift, s -> s.setAvailablePeople(availablePeople));
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Applies the change to the people and their assignments, see {@link #apply}.
+     */
+    Set<Shift> applyToPeople(LudoSchedule schedule, ProblemChangeDirector director, Predicate<Shift> changeable);
+
+    /**
+     * The changes from the people of a published schedule to the given (e.g. newly loaded) people.
+     */
+    static List<PersonChange> between(LudoSchedule published, List<Person> people) {
+        Map<String, Person> publishedPeople = published.getPeople().stream()
+                .collect(Collectors.toMap(Person::getName, Function.identity()));
+        Set<String> names = new HashSet<>();
+        List<PersonChange> changes = new ArrayList<>();
+        for (Person person : people) {
+            names.add(person.getName());
+            Person publishedPerson = publishedPeople.get(person.getName());
+            if (publishedPerson == null) {
+                changes.add(new Added(person));
+            } else if (publishedPerson.getIdealLoad() != person.getIdealLoad()
+                    || !publishedPerson.getAvailableDates().equals(person.getAvailableDates())
+                    || !publishedPerson.getUnwantedDaysOfWeek().equals(person.getUnwantedDaysOfWeek())) {
+                changes.add(new Updated(person));
+            }
+        }
+        for (Person publishedPerson : published.getPeople()) {
+            if (!names.contains(publishedPerson.getName())) {
+                changes.add(new Removed(publishedPerson.getName()));
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * A new volunteer, the shifts on their available dates are re-planned.
+     */
+    record Added(Person person) implements PersonChange {
+        @Override
+        public Set<Shift> applyToPeople(LudoSchedule schedule, ProblemChangeDirector director, Predicate<Shift> changeable) {
+            if (director.lookUpWorkingObject(person).isPresent()) {
+                throw new IllegalStateException("Person " + person + " is already part of the schedule.");
+            }
+            director.addProblemFact(person, schedule.getPeople()::add);
+            return schedule.getShifts().stream()
+                    .filter(shift -> changeable.test(shift) && person.isAvailable(shift))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * A volunteer who stops, their future shifts are re-planned. If they already had shifts in the past, they stay part
+     * of the schedule, but are not available anymore.
+     */
+    record Removed(String name) implements PersonChange {
+        @Override
+        public Set<Shift> applyToPeople(LudoSchedule schedule, ProblemChangeDirector director, Predicate<Shift> changeable) {
+            Optional<Person> found = schedule.getPeople().stream().filter(person -> person.getName().equals(name)).findFirst();
+            if (found.isEmpty()) {
+                return Set.of();
+            }
+            Person person = found.get();
+            Set<Shift> affected = new HashSet<>();
+            Set<LocalDate> pastDates = new HashSet<>();
+            for (Shift shift : schedule.getShifts()) {
+                if (!person.equals(shift.getPersonA()) && !person.equals(shift.getPersonB())) {
+                    continue;
+                }
+                if (changeable.test(shift)) {
+                    unassign(director, shift, person);
+                    affected.add(shift);
+                } else {
+                    pastDates.add(shift.getDate());
+                }
+            }
+            if (pastDates.isEmpty()) {
+                director.removeProblemFact(person, schedule.getPeople()::remove);
+            } else {
+                director.changeProblemProperty(person, p -> p.setAvailableDates(pastDates));
+            }
+            return affected;
+        }
+    }
+
+    /**
+     * Changed answers of a volunteer. Shifts they are not available for anymore are re-planned, as well as their newly
+     * available dates, and all their future shifts if the ideal load or the unwanted days changed.
+     */
+    record Updated(Person person) implements PersonChange {
+        @Override
+        public Set<Shift> applyToPeople(LudoSchedule schedule, ProblemChangeDirector director, Predicate<Shift> changeable) {
+            Optional<Person> found = director.lookUpWorkingObject(person);
+            if (found.isEmpty()) {
+                return new Added(person).applyToPeople(schedule, director, changeable);
+            }
+            Person workingPerson = found.get();
+            Set<LocalDate> previousDates = workingPerson.getAvailableDates();
+            boolean preferencesChanged = workingPerson.getIdealLoad() != person.getIdealLoad()
+                    || !workingPerson.getUnwantedDaysOfWeek().equals(person.getUnwantedDaysOfWeek());
+            director.changeProblemProperty(workingPerson, p -> {
+                p.setIdealLoad(person.getIdealLoad());
+                p.setAvailableDates(person.getAvailableDates());
+                p.setUnwantedDaysOfWeek(person.getUnwantedDaysOfWeek());
+            });
+
+            Set<Shift> affected = new HashSet<>();
+            for (Shift shift : schedule.getShifts()) {
+                if (!changeable.test(shift)) {
+                    continue;
+                }
+                boolean assigned = workingPerson.equals(shift.getPersonA()) || workingPerson.equals(shift.getPersonB());
+                if (assigned && !workingPerson.isAvailable(shift)) {
+                    unassign(director, shift, workingPerson);
+                    affected.add(shift);
+                } else if (assigned && preferencesChanged
+                        || !assigned && workingPerson.isAvailable(shift) && !previousDates.contains(shift.getDate())) {
+                    affected.add(shift);
+                }
+            }
+            return affected;
+        }
+    }
+
+    private static void unassign(ProblemChangeDirector director, Shift shift, Person person) {
+        if (shift.isPinned()) {
+            // Even confirmed shifts, the person can't come anymore
+            director.changeProblemProperty(shift, s -> s.setPinned(false));
+        }
+        if (person.equals(shift.getPersonA())) {
+            director.changeVariable(shift, "personA", s -> s.setPersonA(null));
+        }
+        if (person.equals(shift.getPersonB())) {
+            director.changeVariable(shift, "personB", s -> s.setPersonB(null));
+        }
+    }
+}
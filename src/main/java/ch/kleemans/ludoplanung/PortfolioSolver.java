@@ -0,0 +1,169 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.LocalSearchType;
+import ai.timefold.solver.core.config.phase.PhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Solves the same problem with several independent solvers at the same time (different random seeds and local search
+ * types), and keeps the best schedule. A single run depends a lot on its seed, so on a machine with several cores this
+ * usually gives a better schedule within the same time.
+ */
+public class PortfolioSolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioSolver.class);
+
+    // Local search types the runs take turns with
+    private static final List<LocalSearchType> LOCAL_SEARCH_TYPES = List.of(
+            LocalSearchType.LATE_ACCEPTANCE, LocalSearchType.TABU_SEARCH, LocalSearchType.GREAT_DELUGE);
+
+    public record Run(int index, long seed, LocalSearchType localSearchType) {
+        @Override
+        public String toString() {
+            return "run " + index + " (" + localSearchType + ", seed " + seed + ")";
+        }
+    }
+
+    public record RunResult(Run run, HardSoftLongScore score, long lastImprovementMillis, long moveEvaluationSpeed) {
+    }
+
+    public record Result(LudoSchedule bestSolution, List<RunResult> runResults) {
+    }
+
+    private record RunOutcome(RunResult runResult, LudoSchedule solution) {
+    }
+
+    private final SolverConfig solverConfig;
+    private final int runCount;
+    private final int threadCount;
+    private final Duration timeLimit;
+    private final Duration runTimeLimit;
+    private Consumer<LudoSchedule> bestSolutionConsumer = solution -> {
+    };
+
+    /**
+     * @param solverConfig used for every run, except for its local search type, random seed and termination
+     * @param runCount     number of independent runs
+     * @param threadCount  number of runs solving at the same time. With more runs than threads, the runs are solved in
+     *                     waves, and each wave gets an equal share of the time limit
+     * @param timeLimit    for all runs together
+     */
+    public PortfolioSolver(SolverConfig solverConfig, int runCount, int threadCount, Duration timeLimit) {
+        this.solverConfig = solverConfig;
+        this.runCount = runCount;
+        this.threadCount = threadCount;
+        this.timeLimit = timeLimit;
+        int waveCount = (runCount + threadCount - 1) / threadCount;
+        this.runTimeLimit = timeLimit.dividedBy(Math.max(1, waveCount));
+    }
+
+    /**
+     * Called with the new best solution of any run, from the solver threads. The runs improve independently, so a
+     * solution may be worse than one given before.
+     */
+    public void setBestSolutionConsumer(Consumer<LudoSchedule> bestSolutionConsumer) {
+        this.bestSolutionConsumer = bestSolutionConsumer;
+    }
+
+    public Result solve(LudoSchedule problem) {
+        long deadline = System.nanoTime() + timeLimit.toNanos();
+        DefaultSolverFactory<LudoSchedule> solverFactory = (DefaultSolverFactory<LudoSchedule>) SolverFactory.<LudoSchedule>create(solverConfig);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<RunOutcome>> futures = new ArrayList<>();
+            for (int i = 0; i < runCount; i++) {
+                Run run = new Run(i, i, LOCAL_SEARCH_TYPES.get(i % LOCAL_SEARCH_TYPES.size()));
+                // Every run changes its own copy of the shifts
+                LudoSchedule copy = solverFactory.getSolutionDescriptor().getSolutionCloner().cloneSolution(problem);
+                futures.add(executor.submit(() -> solveRun(run, copy, deadline)));
+            }
+
+            List<RunResult> runResults = new ArrayList<>();
+            LudoSchedule bestSolution = null;
+            for (Future<RunOutcome> future : futures) {
+                RunOutcome outcome = future.get();
+                if (outcome == null) {
+                    continue;
+                }
+                runResults.add(outcome.runResult());
+                if (bestSolution == null || outcome.solution().getScore().compareTo(bestSolution.getScore()) > 0) {
+                    bestSolution = outcome.solution();
+                }
+            }
+            if (bestSolution == null) {
+                throw new IllegalStateException("No run could start within the time limit (" + timeLimit + ").");
+            }
+            runResults.sort(Comparator.comparing(RunResult::score).reversed());
+            return new Result(bestSolution, runResults);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A run failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<PhaseConfig> phaseConfigs(LocalSearchType localSearchType) {
+        if (solverConfig.getPhaseConfigList() == null) {
+            return List.of(new ConstructionHeuristicPhaseConfig(),
+                    new LocalSearchPhaseConfig().withLocalSearchType(localSearchType));
+        }
+        // Keeps the phases of the given config, e.g. the greedy construction or the custom moves
+        List<PhaseConfig> phaseConfigs = new ArrayList<>();
+        for (PhaseConfig<?> phaseConfig : solverConfig.getPhaseConfigList()) {
+            phaseConfigs.add(phaseConfig instanceof LocalSearchPhaseConfig localSearchPhaseConfig
+                    ? localSearchPhaseConfig.copyConfig().withLocalSearchType(localSearchType)
+                    : (PhaseConfig) phaseConfig.copyConfig());
+        }
+        return phaseConfigs;
+    }
+
+    private RunOutcome solveRun(Run run, LudoSchedule problem, long deadline) {
+        // The termination can't use anything finer than milliseconds. A run that starts late (e.g. because earlier
+        // ones took a bit longer than their share) only gets what is left
+        long remainingMillis = Math.min(runTimeLimit.toMillis(),
+                TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+        if (remainingMillis <= 0) {
+            LOGGER.warn("Skipping {}, no time left", run);
+            return null;
+        }
+        SolverConfig runConfig = solverConfig.copyConfig()
+                .withRandomSeed(run.seed())
+                .withPhaseList(phaseConfigs(run.localSearchType()))
+                .withTerminationSpentLimit(Duration.ofMillis(remainingMillis));
+        DefaultSolver<LudoSchedule> solver = (DefaultSolver<LudoSchedule>) SolverFactory.<LudoSchedule>create(runConfig).buildSolver();
+
+        long[] lastImprovementMillis = {0};
+        solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) -> {
+            lastImprovementMillis[0] = event.getTimeMillisSpent();
+            LOGGER.debug("New best score in {}: {}", run, event.getNewBestScore());
+            bestSolutionConsumer.accept(event.getNewBestSolution());
+        });
+        LudoSchedule solution = solver.solve(problem);
+
+        RunResult runResult = new RunResult(run, solution.getScore(), lastImprovementMillis[0],
+                solver.getSolverScope().getMoveEvaluationSpeed());
+        LOGGER.info("Finished {}: score {}, last improvement after {} ms, move evaluation speed {}/sec", run,
+                runResult.score(), runResult.lastImprovementMillis(), runResult.moveEvaluationSpeed());
+        return new RunOutcome(runResult, solution);
+    }
+}
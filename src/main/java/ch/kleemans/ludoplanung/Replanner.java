@@ -0,0 +1,148 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.api.solver.change.ProblemChangeDirector;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Re-plans a published schedule after volunteers changed their answers, without reshuffling the whole season.
+ * <p>
+ * The published schedule is solved by a solver that keeps running in the background. At first all shifts are pinned.
+ * Each {@link PersonChange} is applied as problem change to the running solver, and only unpins the shifts within a
+ * few days of the shifts it affects. So the solver only re-optimizes that neighbourhood, and is done within seconds.
+ * <p>
+ * Shifts before today never change. Confirmed shifts (pinned in the published schedule) only change if their person
+ * can't come anymore.
+ */
+public class Replanner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Replanner.class);
+
+    private final SolverConfig solverConfig;
+    private final LocalDate today;
+    private final int neighbourhoodDays;
+    private final long settleNanos;
+
+    // Ids of the confirmed shifts, changes run on the solver thread
+    private final Set<String> confirmedShiftIds = ConcurrentHashMap.newKeySet();
+    private Solver<LudoSchedule> solver;
+    private Thread solverThread;
+    private volatile LudoSchedule bestSolution;
+    private volatile long lastChangeNanos;
+
+    /**
+     * @param solverConfig      its termination applies to every change on its own, as the solver starts again with
+     *                          each one. An unimproved spent limit is replaced by the settle time
+     * @param neighbourhoodDays shifts within this many days of an affected shift are re-planned as well
+     * @param settleTime        without a better solution for this long, re-planning is done
+     */
+    public Replanner(SolverConfig solverConfig, LocalDate today, int neighbourhoodDays, Duration settleTime) {
+        // As daemon, the solver waits for the next change instead of returning when it terminates
+        this.solverConfig = solverConfig.copyConfig()
+                .withDaemon(true)
+                .withTerminationUnimprovedSpentLimit(settleTime);
+        this.today = today;
+        this.neighbourhoodDays = neighbourhoodDays;
+        this.settleNanos = settleTime.toNanos();
+    }
+
+    /**
+     * Starts solving in the background. The published schedule itself is not changed.
+     */
+    public void start(LudoSchedule published) {
+        DefaultSolverFactory<LudoSchedule> solverFactory = (DefaultSolverFactory<LudoSchedule>) SolverFactory.<LudoSchedule>create(solverConfig);
+        LudoSchedule schedule = solverFactory.getSolutionDescriptor().getSolutionCloner().cloneSolution(published);
+        for (Shift shift : schedule.getShifts()) {
+            if (shift.isPinned() && isChangeable(shift)) {
+                confirmedShiftIds.add(shift.getId());
+            }
+            // Nothing changes until a change opens its neighbourhood
+            shift.setPinned(true);
+        }
+        bestSolution = schedule;
+        lastChangeNanos = System.nanoTime();
+
+        solver = solverFactory.buildSolver();
+        solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) -> {
+            LOGGER.info("New best score: {}", event.getNewBestScore());
+            bestSolution = event.getNewBestSolution();
+            lastChangeNanos = System.nanoTime();
+        });
+        solverThread = new Thread(() -> bestSolution = solver.solve(schedule), "replanner");
+        solverThread.start();
+    }
+
+    public void apply(List<PersonChange> changes) {
+        for (PersonChange change : changes) {
+            solver.addProblemChange((schedule, director) -> {
+                Set<Shift> affected = change.apply(schedule, director, this::isChangeable);
+                for (Shift shift : affected) {
+                    if (shift.getPersonA() == null || shift.getPersonB() == null) {
+                        // Gets somebody else, needs to be confirmed again
+                        confirmedShiftIds.remove(shift.getId());
+                    }
+                }
+                int opened = openNeighbourhood(schedule, director, affected);
+                lastChangeNanos = System.nanoTime();
+                LOGGER.info("Applied {}: {} shift(s) affected, {} shift(s) re-planned", change, affected.size(), opened);
+            });
+        }
+    }
+
+    private int openNeighbourhood(LudoSchedule schedule, ProblemChangeDirector director, Set<Shift> affected) {
+        int opened = 0;
+        for (Shift shift : schedule.getShifts()) {
+            boolean open = !shift.isPinned() || isChangeable(shift) && !confirmedShiftIds.contains(shift.getId())
+                    && affected.stream().anyMatch(affectedShift ->
+                    Math.abs(ChronoUnit.DAYS.between(affectedShift.getDate(), shift.getDate())) <= neighbourhoodDays);
+            if (open && shift.isPinned()) {
+                director.changeProblemProperty(shift, s -> s.setPinned(false));
+            }
+            if (open) {
+                opened++;
+            }
+        }
+        return opened;
+    }
+
+    private boolean isChangeable(Shift shift) {
+        return !shift.getDate().isBefore(today);
+    }
+
+    /**
+     * Waits until all changes are applied and the solver didn't find a better solution for the settle time.
+     */
+    public void awaitSettled() throws InterruptedException {
+        while (!solver.isEveryProblemChangeProcessed() || System.nanoTime() - lastChangeNanos < settleNanos) {
+            Thread.sleep(100);
+        }
+    }
+
+    /**
+     * Stops the solver.
+     *
+     * @return the best solution, with the past and confirmed shifts pinned
+     */
+    public LudoSchedule stop() throws InterruptedException {
+        solver.terminateEarly();
+        solverThread.join();
+        LudoSchedule solution = bestSolution;
+        for (Shift shift : solution.getShifts()) {
+            shift.setPinned(!isChangeable(shift) || confirmedShiftIds.contains(shift.getId()));
+        }
+        return solution;
+    }
+}
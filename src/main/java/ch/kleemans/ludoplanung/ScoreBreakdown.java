@@ -0,0 +1,107 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.ScoreExplanation;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatch;
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.api.score.constraint.Indictment;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Where the score of a schedule comes from: the score and number of matches per constraint, and per person over all
+ * constraints, e.g. to see which constraint to work on, or to explain to somebody why they got their shifts. The
+ * constraints indict the people who cause a match (see {@link LudoConstraintProvider}).
+ */
+public class ScoreBreakdown {
+
+    public record ConstraintImpact(String constraintName, HardSoftLongScore score, int matchCount) {
+    }
+
+    /**
+     * @param matchCount        matches with a penalty
+     * @param scoreByConstraint only the constraints that penalize this person
+     */
+    public record PersonImpact(Person person, HardSoftLongScore score, int matchCount,
+                               Map<String, HardSoftLongScore> scoreByConstraint) {
+    }
+
+    // Worst first, ties by name
+    private static final Comparator<ConstraintImpact> CONSTRAINT_ORDER =
+            Comparator.comparing(ConstraintImpact::score).thenComparing(ConstraintImpact::constraintName);
+    private static final Comparator<PersonImpact> PERSON_ORDER =
+            Comparator.comparing(PersonImpact::score).thenComparing(personImpact -> personImpact.person().getName());
+
+    private final HardSoftLongScore score;
+    private final List<ConstraintImpact> constraintImpacts;
+    private final List<PersonImpact> personImpacts;
+
+    private ScoreBreakdown(HardSoftLongScore score, List<ConstraintImpact> constraintImpacts, List<PersonImpact> personImpacts) {
+        this.score = score;
+        this.constraintImpacts = constraintImpacts;
+        this.personImpacts = personImpacts;
+    }
+
+    /**
+     * Calculates the score of the schedule from scratch, with all constraint matches. Too slow to do on every move,
+     * but fine once per solution.
+     */
+    public static ScoreBreakdown of(SolutionManager<LudoSchedule, HardSoftLongScore> solutionManager, LudoSchedule schedule) {
+        ScoreExplanation<LudoSchedule, HardSoftLongScore> explanation = solutionManager.explain(schedule);
+
+        List<ConstraintImpact> constraintImpacts = new ArrayList<>();
+        for (ConstraintMatchTotal<HardSoftLongScore> matchTotal : explanation.getConstraintMatchTotalMap().values()) {
+            constraintImpacts.add(new ConstraintImpact(matchTotal.getConstraintRef().constraintName(),
+                    matchTotal.getScore(), matchTotal.getConstraintMatchCount()));
+        }
+        constraintImpacts.sort(CONSTRAINT_ORDER);
+
+        List<PersonImpact> personImpacts = new ArrayList<>();
+        for (Indictment<HardSoftLongScore> indictment : explanation.getIndictmentMap().values()) {
+            if (!(indictment.getIndictedObject() instanceof Person person)) {
+                continue;
+            }
+            // E.g. the distribution is matched for everybody, but only penalizes some
+            Map<String, HardSoftLongScore> scoreByConstraint = new TreeMap<>();
+            int matchCount = 0;
+            for (ConstraintMatch<HardSoftLongScore> constraintMatch : indictment.getConstraintMatchSet()) {
+                if (!constraintMatch.getScore().isZero()) {
+                    scoreByConstraint.merge(constraintMatch.getConstraintRef().constraintName(), constraintMatch.getScore(),
+                            HardSoftLongScore::add);
+                    matchCount++;
+                }
+            }
+            if (matchCount > 0) {
+                personImpacts.add(new PersonImpact(person, indictment.getScore(), matchCount, scoreByConstraint));
+            }
+        }
+        personImpacts.sort(PERSON_ORDER);
+
+        return new ScoreBreakdown(explanation.getScore(), constraintImpacts, personImpacts);
+    }
+
+    public HardSoftLongScore getScore() {
+        return score;
+    }
+
+    /**
+     * Every constraint, worst first.
+     */
+    public List<ConstraintImpact> getConstraintImpacts() {
+        return constraintImpacts;
+    }
+
+    /**
+     * The people with a penalty, worst first.
+     */
+    public List<PersonImpact> getPersonImpacts() {
+        return personImpacts;
+    }
+}
@@ -0,0 +1,73 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.Solver;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The best score of one solver run over time and evaluated moves, for the reports that compare solver configurations
+ * on the same season ({@link SymmetryReport}, {@link MoveThreadReport}). Empty if the solver never found a solution,
+ * e.g. when it was terminated right away.
+ */
+class ScoreTimeline {
+
+    record Point(long moveCount, long millisSpent, HardSoftLongScore score) {
+        @Override
+        public String toString() {
+            return moveCount + " moves (" + millisSpent + " ms)";
+        }
+    }
+
+    private final List<Point> points = new ArrayList<>();
+
+    /**
+     * Records every new best score of the solver, to be read after solving.
+     */
+    static ScoreTimeline record(Solver<LudoSchedule> solver) {
+        ScoreTimeline timeline = new ScoreTimeline();
+        DefaultSolver<LudoSchedule> defaultSolver = (DefaultSolver<LudoSchedule>) solver;
+        solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) ->
+                timeline.add(new Point(defaultSolver.getSolverScope().getMoveEvaluationCount(),
+                        event.getTimeMillisSpent(), (HardSoftLongScore) event.getNewBestScore())));
+        return timeline;
+    }
+
+    void add(Point point) {
+        points.add(point);
+    }
+
+    Optional<HardSoftLongScore> finalScore() {
+        return points.isEmpty() ? Optional.empty() : Optional.of(points.get(points.size() - 1).score());
+    }
+
+    /**
+     * @return the first point with the given score or a better one
+     */
+    Optional<Point> reached(HardSoftLongScore score) {
+        return points.stream().filter(point -> point.score().compareTo(score) >= 0).findFirst();
+    }
+
+    /**
+     * Writes one CSV line per point of every timeline, with the timeline's key in the first column.
+     */
+    static void writeCsv(Path output, String keyColumn, Map<String, ScoreTimeline> timelines) throws IOException {
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(output))) {
+            writer.println(keyColumn + ",moveCount,millisSpent,hardScore,softScore");
+            timelines.forEach((key, timeline) -> timeline.points.forEach(point ->
+                    writer.println(key + "," + point.moveCount() + "," + point.millisSpent() + ","
+                            + point.score().hardScore() + "," + point.score().softScore())));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.Move;
+import ai.timefold.solver.core.impl.heuristic.selector.common.decorator.SelectionFilter;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.ChangeMove;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.SwapMove;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.util.Objects;
+
+/**
+ * Skips moves that only differ from the current schedule by the order of person A and B. The two seats of a shift are
+ * interchangeable for all constraints, so such moves are evaluated for nothing:
+ * <ul>
+ *     <li>a change move putting the person of the other seat into a seat: (A, B) to (B, B) is always broken, and the
+ *     meant (B, A) is the same shift as before</li>
+ *     <li>a swap move between two shifts with the same two people, e.g. (A, B) and (B, A)</li>
+ * </ul>
+ */
+public class SeatSymmetryFilter implements SelectionFilter<LudoSchedule, Move<LudoSchedule>> {
+
+    @Override
+    public boolean accept(ScoreDirector<LudoSchedule> scoreDirector, Move<LudoSchedule> move) {
+        if (move instanceof ChangeMove<LudoSchedule> changeMove) {
+            Shift shift = (Shift) changeMove.getEntity();
+            Person otherSeat = changeMove.getVariableName().equals("personA") ? shift.getPersonB() : shift.getPersonA();
+            return otherSeat == null || !otherSeat.equals(changeMove.getToPlanningValue());
+        }
+        if (move instanceof SwapMove<LudoSchedule> swapMove) {
+            return !samePeople((Shift) swapMove.getLeftEntity(), (Shift) swapMove.getRightEntity());
+        }
+        return true;
+    }
+
+    private static boolean samePeople(Shift left, Shift right) {
+        return Objects.equals(left.getPersonA(), right.getPersonA()) && Objects.equals(left.getPersonB(), right.getPersonB())
+                || Objects.equals(left.getPersonA(), right.getPersonB()) && Objects.equals(left.getPersonB(), right.getPersonA());
+    }
+}
@@ -0,0 +1,143 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.function.TriFunction;
+import ai.timefold.solver.core.api.score.stream.bi.BiConstraintCollector;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import ch.kleemans.ludoplanung.domain.Util;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Collects the shift dates of a single person and calculates how badly they are distributed, in hundredths of a week.
+ * <p>
+ * Instead of sorting all shifts of a person on every change, the dates are kept sorted and only the (at most two)
+ * neighbouring gaps are updated when a shift is added or removed. The gaps are counted by their length, so the penalty
+ * only needs to look at gaps shorter than the expected gap.
+ */
+final class ShiftDistributionCollector implements BiConstraintCollector<Person, Shift, ShiftDistributionCollector.ShiftDates, Long> {
+
+    // Punish outliers harder
+    static final double PUNISH_FACTOR = 1.5;
+
+    @Override
+    public Supplier<ShiftDates> supplier() {
+        return ShiftDates::new;
+    }
+
+    @Override
+    public TriFunction<ShiftDates, Person, Shift, Runnable> accumulator() {
+        return (dates, person, shift) -> {
+            int day = (int) shift.getEpochDay();
+            dates.person = person;
+            dates.add(day);
+            return () -> dates.remove(day);
+        };
+    }
+
+    @Override
+    public Function<ShiftDates, Long> finisher() {
+        return ShiftDates::penalty;
+    }
+
+    static final class ShiftDates {
+        private Person person;
+        // Epoch days of the shifts, sorted (duplicates allowed)
+        private int[] days = new int[16];
+        private int size;
+        // Number of gaps between consecutive shifts, indexed by gap length in days
+        private int[] gapCounts = new int[64];
+
+        void add(int day) {
+            int index = insertionIndex(day);
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+            }
+            System.arraycopy(days, index, days, index + 1, size - index);
+            days[index] = day;
+            size++;
+
+            boolean hasPrevious = index > 0;
+            boolean hasNext = index < size - 1;
+            if (hasPrevious && hasNext) {
+                removeGap(days[index + 1] - days[index - 1]);
+            }
+            if (hasPrevious) {
+                addGap(day - days[index - 1]);
+            }
+            if (hasNext) {
+                addGap(days[index + 1] - day);
+            }
+        }
+
+        void remove(int day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            if (index < 0) {
+                throw new IllegalStateException("Shift on epoch day " + day + " was never added.");
+            }
+            boolean hasPrevious = index > 0;
+            boolean hasNext = index < size - 1;
+            if (hasPrevious) {
+                removeGap(day - days[index - 1]);
+            }
+            if (hasNext) {
+                removeGap(days[index + 1] - day);
+            }
+            if (hasPrevious && hasNext) {
+                addGap(days[index + 1] - days[index - 1]);
+            }
+
+            System.arraycopy(days, index + 1, days, index, size - index - 1);
+            size--;
+        }
+
+        long penalty() {
+            if (size <= 1) {
+                return 0;
+            }
+
+            // Expected gap between this person's shifts, in days.
+            // Example: idealLoad=1.0 => 28 days; idealLoad=2.0 => 14 days.
+            double expectedGapDays = Util.getExpectedGapDays(person);
+
+            // Only gaps shorter than expected are punished
+            double totalDeviationDays = 0.0;
+            int maxGap = (int) Math.min(gapCounts.length - 1, Math.ceil(expectedGapDays) - 1);
+            for (int gap = 0; gap <= maxGap; gap++) {
+                if (gapCounts[gap] > 0) {
+                    totalDeviationDays += gapCounts[gap] * Math.pow(expectedGapDays - gap, PUNISH_FACTOR);
+                }
+            }
+
+            // Convert to weeks to keep numbers reasonable, rounded to hundredths of a week
+            return Math.round(totalDeviationDays * 100 / 7);
+        }
+
+        private int insertionIndex(int day) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (days[middle] <= day) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private void addGap(int gap) {
+            if (gap >= gapCounts.length) {
+                gapCounts = Arrays.copyOf(gapCounts, Math.max(gap + 1, gapCounts.length * 2));
+            }
+            gapCounts[gap]++;
+        }
+
+        private void removeGap(int gap) {
+            gapCounts[gap]--;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ch.kleemans.ludoplanung.data.ScheduleReport;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.data.SeasonFormatException;
+import ch.kleemans.ludoplanung.data.SeasonLoader;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP interface of a {@link SolverService}, for clients on the same machine (it only listens on localhost). The
+ * seasons are read from the local file system:
+ * <ul>
+ *     <li>{@code PUT /jobs/<id>?season=<dir>} (or {@code ?snapshot=<file>}): solve a season</li>
+ *     <li>{@code GET /jobs}, {@code GET /jobs/<id>}: status and best score as JSON</li>
+ *     <li>{@code GET /jobs/<id>/report?format=markdown}: report of the best solution so far
+ *     (see {@link ScheduleReport})</li>
+ *     <li>{@code GET /jobs/<id>/events}: every new best score as server-sent event, until the job is done</li>
+ *     <li>{@code POST /jobs/<id>/terminate}: stop solving, keep the best solution</li>
+ *     <li>{@code DELETE /jobs/<id>}: stop solving and forget the job</li>
+ * </ul>
+ */
+public class SolverServer implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverServer.class);
+
+    // Ids need no quoting in URLs and JSON
+    private static final Pattern JOB_PATH = Pattern.compile("/jobs/([A-Za-z0-9._-]+)(/report|/events|/terminate)?/?");
+
+    private final SolverService solverService;
+    private final SolutionManager<LudoSchedule, HardSoftLongScore> solutionManager;
+    private final HttpServer httpServer;
+    // Event streams keep their thread until the job is done
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "solver-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param port 0 for any free port
+     */
+    public SolverServer(SolverService solverService, SolutionManager<LudoSchedule, HardSoftLongScore> solutionManager,
+                        int port) throws IOException {
+        this.solverService = solverService;
+        this.solutionManager = solutionManager;
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/jobs", this::handle);
+        httpServer.start();
+        LOGGER.info("Solver service on http://localhost:{}/jobs", getPort());
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals("/jobs") || path.equals("/jobs/")) {
+                if (method.equals("GET")) {
+                    send(exchange, 200, "application/json", jobsJson(solverService.getJobs()));
+                } else {
+                    send(exchange, 405, "text/plain", "Only GET on /jobs.\n");
+                }
+                return;
+            }
+            Matcher matcher = JOB_PATH.matcher(path);
+            if (!matcher.matches()) {
+                send(exchange, 404, "text/plain", "Unknown path " + path + ", expected /jobs/<id> with letters, digits, "
+                        + "'.', '_' and '-'.\n");
+                return;
+            }
+            String jobId = matcher.group(1);
+            String action = matcher.group(2) == null ? "" : matcher.group(2);
+            switch (method + " " + action) {
+                case "PUT " -> submit(exchange, jobId);
+                case "GET " -> sendJob(exchange, 200, jobId);
+                case "GET /report" -> sendReport(exchange, jobId);
+                case "GET /events" -> streamEvents(exchange, jobId);
+                case "POST /terminate" -> {
+                    if (solverService.terminateEarly(jobId)) {
+                        sendJob(exchange, 202, jobId);
+                    } else {
+                        send(exchange, 404, "text/plain", "Unknown job " + jobId + ".\n");
+                    }
+                }
+                case "DELETE " -> {
+                    if (solverService.remove(jobId)) {
+                        exchange.sendResponseHeaders(204, -1);
+                    } else {
+                        send(exchange, 404, "text/plain", "Unknown job " + jobId + ".\n");
+                    }
+                }
+                default -> send(exchange, 405, "text/plain", method + " is not supported on " + path + ".\n");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Request {} {} failed", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            throw e;
+        }
+    }
+
+    private void submit(HttpExchange exchange, String jobId) throws IOException {
+        Map<String, String> query = query(exchange);
+        LudoSchedule problem;
+        try {
+            if (query.containsKey("season")) {
+                problem = SeasonLoader.load(Path.of(query.get("season")));
+            } else if (query.containsKey("snapshot")) {
+                problem = ScheduleSnapshot.read(Path.of(query.get("snapshot")));
+            } else {
+                send(exchange, 400, "text/plain", "Expected ?season=<dir> or ?snapshot=<file>.\n");
+                return;
+            }
+        } catch (SeasonFormatException e) {
+            send(exchange, 400, "text/plain", e.getMessage() + "\n");
+            return;
+        } catch (IOException e) {
+            send(exchange, 400, "text/plain", "Could not read " + e.getMessage() + "\n");
+            return;
+        }
+        try {
+            solverService.submit(jobId, problem);
+        } catch (IllegalStateException e) {
+            send(exchange, 409, "text/plain", e.getMessage() + "\n");
+            return;
+        } catch (RejectedExecutionException e) {
+            send(exchange, 503, "text/plain", e.getMessage() + "\n");
+            return;
+        }
+        sendJob(exchange, 202, jobId);
+    }
+
+    private void sendJob(HttpExchange exchange, int status, String jobId) throws IOException {
+        SolverService.JobUpdate job = solverService.getJob(jobId);
+        if (job == null) {
+            send(exchange, 404, "text/plain", "Unknown job " + jobId + ".\n");
+        } else {
+            send(exchange, status, "application/json", jobJson(job) + "\n");
+        }
+    }
+
+    private void sendReport(HttpExchange exchange, String jobId) throws IOException {
+        ScheduleReport.Format format;
+        try {
+            format = ScheduleReport.Format.parse(query(exchange).getOrDefault("format", "text"));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, "text/plain", e.getMessage() + "\n");
+            return;
+        }
+        LudoSchedule schedule = solverService.getSchedule(jobId);
+        if (schedule == null) {
+            send(exchange, 404, "text/plain", solverService.getJob(jobId) == null
+                    ? "Unknown job " + jobId + ".\n" : "No solution of job " + jobId + " yet.\n");
+            return;
+        }
+        StringWriter writer = new StringWriter();
+        new ScheduleReport(schedule, solutionManager.analyze(schedule, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT))
+                .write(writer, format);
+        String contentType = switch (format) {
+            case TEXT -> "text/plain";
+            case CSV -> "text/csv";
+            case MARKDOWN -> "text/markdown";
+            case JSON -> "application/json";
+        };
+        send(exchange, 200, contentType, writer.toString());
+    }
+
+    private void streamEvents(HttpExchange exchange, String jobId) throws IOException {
+        BlockingQueue<SolverService.JobUpdate> updates = new LinkedBlockingQueue<>();
+        Runnable removeListener;
+        try {
+            removeListener = solverService.addListener(jobId, updates::add);
+        } catch (IllegalArgumentException e) {
+            send(exchange, 404, "text/plain", e.getMessage() + "\n");
+            return;
+        }
+        try {
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, 0);
+            Writer writer = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8);
+            // The current state first, the job may even be done already
+            SolverService.JobUpdate update = solverService.getJob(jobId);
+            while (update != null) {
+                writer.write("event: " + (update.status() == SolverStatus.NOT_SOLVING ? "done" : "best-solution") + "\n");
+                writer.write("data: " + jobJson(update) + "\n\n");
+                writer.flush();
+                if (update.status() == SolverStatus.NOT_SOLVING) {
+                    break;
+                }
+                update = updates.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client went away
+            LOGGER.debug("Event stream of job {} closed", jobId, e);
+        } finally {
+            removeListener.run();
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        // Split before decoding, the values may contain an encoded '&' or '='
+        String rawQuery = exchange.getRequestURI().getRawQuery();
+        if (rawQuery != null) {
+            for (String parameter : rawQuery.split("&")) {
+                int equals = parameter.indexOf('=');
+                if (equals > 0) {
+                    query.put(URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8),
+                            URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return query;
+    }
+
+    static String jobJson(SolverService.JobUpdate job) {
+        return "{\"id\": \"" + job.jobId() + "\", \"status\": \"" + job.status() + "\", \"score\": "
+                + (job.score() == null ? "null" : "\"" + job.score() + "\"")
+                + (job.error() == null ? "" : ", \"error\": " + ScheduleReport.json(job.error())) + "}";
+    }
+
+    private static String jobsJson(List<SolverService.JobUpdate> jobs) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < jobs.size(); i++) {
+            builder.append(i == 0 ? "\n  " : ",\n  ").append(jobJson(jobs.get(i)));
+        }
+        return builder.append(jobs.isEmpty() ? "]\n" : "\n]\n").toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    /**
+     * Stops serving and terminates all jobs.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(0);
+        executor.shutdownNow();
+        solverService.close();
+    }
+}
@@ -0,0 +1,286 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverConfigOverride;
+import ai.timefold.solver.core.api.solver.SolverJob;
+import ai.timefold.solver.core.api.solver.SolverManager;
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.config.solver.SolverManagerConfig;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Solves several seasons (e.g. of different clubs) at the same time, as jobs of one {@link SolverManager}: the solver
+ * factory is built once, at most a given number of jobs solve at the same time, further jobs wait for a free solver.
+ * The best solution of each job can be polled while solving (with its {@link LudoSchedule#getSolverStatus()}), or
+ * followed as updates, and a job can be terminated early.
+ */
+public class SolverService implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverService.class);
+
+    /**
+     * @param score null until the first solution
+     * @param error why solving failed, or null
+     */
+    public record JobUpdate(String jobId, SolverStatus status, HardSoftLongScore score, String error) {
+    }
+
+    private static final class Job {
+        private final String id;
+        private final List<Consumer<JobUpdate>> listeners = new CopyOnWriteArrayList<>();
+        // Not the problem itself, the solver changes that while solving
+        private volatile LudoSchedule bestSolution;
+        // Set before the job is added to the jobs
+        private SolverJob<LudoSchedule, String> solverJob;
+        private final CountDownLatch done = new CountDownLatch(1);
+        // Set by the first of the final solution, the exception handler or the termination of a waiting job
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile String error;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private JobUpdate update(SolverStatus status) {
+            return new JobUpdate(id, status, bestSolution == null ? null : bestSolution.getScore(), error);
+        }
+    }
+
+    private final SolverManager<LudoSchedule, String> solverManager;
+    private final TerminationPolicy terminationPolicy;
+    private final int maxJobs;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * @param parallelSolverCount jobs solving at the same time, e.g. "4" or "AUTO" (half of the cores)
+     * @param maxJobs             jobs waiting or solving, further ones are rejected
+     */
+    public SolverService(SolverConfig solverConfig, TerminationPolicy terminationPolicy, String parallelSolverCount,
+                         int maxJobs) {
+        this.solverManager = SolverManager.create(solverConfig,
+                new SolverManagerConfig().withParallelSolverCount(parallelSolverCount));
+        this.terminationPolicy = terminationPolicy;
+        this.maxJobs = maxJobs;
+    }
+
+    /**
+     * Starts solving the problem as soon as a solver is free. A job with the same id that is done is replaced.
+     *
+     * @throws IllegalStateException      if a job with this id is still waiting or solving
+     * @throws RejectedExecutionException if there are already {@code maxJobs} jobs waiting or solving
+     */
+    public synchronized void submit(String jobId, LudoSchedule problem) {
+        Job previous = jobs.get(jobId);
+        if (previous != null && !isDone(previous)) {
+            throw new IllegalStateException("Job " + jobId + " is still " + getStatus(jobId) + ".");
+        }
+        long unfinished = jobs.values().stream().filter(job -> !isDone(job)).count();
+        if (unfinished >= maxJobs) {
+            throw new RejectedExecutionException("Already " + unfinished + " jobs waiting or solving, try again later.");
+        }
+
+        Job job = new Job(jobId);
+        job.solverJob = solverManager.solveBuilder()
+                .withProblemId(jobId)
+                .withProblem(problem)
+                // The time limit depends on the size of the season
+                .withConfigOverride(new SolverConfigOverride<LudoSchedule>()
+                        .withTerminationConfig(terminationPolicy.terminationConfig(problem)))
+                .withBestSolutionEventConsumer(event -> {
+                    job.bestSolution = event.solution();
+                    notify(job, SolverStatus.SOLVING_ACTIVE);
+                })
+                .withFinalBestSolutionEventConsumer(event -> {
+                    job.bestSolution = event.solution();
+                    LOGGER.info("Job {} done: score {}", jobId, event.solution().getScore());
+                    finish(job);
+                })
+                .withExceptionHandler((problemId, throwable) -> {
+                    LOGGER.error("Job {} failed", problemId, throwable);
+                    job.error = String.valueOf(throwable.getMessage());
+                    finish(job);
+                })
+                .run();
+        // Only once the solver manager took it, so a failing run() leaves no job behind. The callbacks don't need it
+        jobs.put(jobId, job);
+        LOGGER.info("Job {} submitted: {} shifts, {} people, at most {}", jobId, problem.getShifts().size(),
+                problem.getPeople().size(), terminationPolicy.timeLimit(problem));
+    }
+
+    private static void finish(Job job) {
+        if (job.finished.compareAndSet(false, true)) {
+            notify(job, SolverStatus.NOT_SOLVING);
+            job.done.countDown();
+        }
+    }
+
+    private static void notify(Job job, SolverStatus status) {
+        JobUpdate update = job.update(status);
+        for (Consumer<JobUpdate> listener : job.listeners) {
+            listener.accept(update);
+        }
+    }
+
+    /**
+     * All jobs, by id.
+     */
+    public List<JobUpdate> getJobs() {
+        return jobs.values().stream()
+                .map(job -> job.update(status(job)))
+                .sorted(Comparator.comparing(JobUpdate::jobId))
+                .toList();
+    }
+
+    /**
+     * @return null if there is no such job
+     */
+    public JobUpdate getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? null : job.update(status(job));
+    }
+
+    /**
+     * The best solution so far, with its solver status. Not changed by the solver anymore, and must not be changed by
+     * the caller: it shares the shifts and people with the solution of the job, only the status is its own.
+     *
+     * @return null if there is no such job, or no solution yet
+     */
+    public LudoSchedule getSchedule(String jobId) {
+        Job job = jobs.get(jobId);
+        LudoSchedule bestSolution = job == null ? null : job.bestSolution;
+        if (bestSolution == null) {
+            return null;
+        }
+        // The best solution is shared by all callers, e.g. the threads of the server
+        LudoSchedule schedule = new LudoSchedule();
+        schedule.setShifts(bestSolution.getShifts());
+        schedule.setPeople(bestSolution.getPeople());
+        schedule.setScore(bestSolution.getScore());
+        schedule.setConstraintWeightOverrides(bestSolution.getConstraintWeightOverrides());
+        schedule.setSolverStatus(status(job));
+        return schedule;
+    }
+
+    public SolverStatus getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        return job == null ? SolverStatus.NOT_SOLVING : status(job);
+    }
+
+    private SolverStatus status(Job job) {
+        // The final solution is there before the solver manager considers the job done
+        return job.finished.get() ? SolverStatus.NOT_SOLVING : solverManager.getSolverStatus(job.id);
+    }
+
+    /**
+     * Whether the solver manager dropped the job as well, only then a job with the same id can be solved again.
+     */
+    private boolean isDone(Job job) {
+        return job.finished.get() && solverManager.getSolverStatus(job.id) == SolverStatus.NOT_SOLVING;
+    }
+
+    /**
+     * Calls the listener with every new best solution of the job, from the thread of the job, and once more when it's
+     * done ({@link SolverStatus#NOT_SOLVING}).
+     *
+     * @return to stop listening
+     * @throws IllegalArgumentException if there is no such job
+     */
+    public Runnable addListener(String jobId, Consumer<JobUpdate> listener) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job " + jobId + ".");
+        }
+        job.listeners.add(listener);
+        return () -> job.listeners.remove(listener);
+    }
+
+    /**
+     * Waits until the job is done, its listeners got the final solution, and a job with the same id can be submitted.
+     *
+     * @return null if solving failed (or was terminated while waiting) before there was a solution
+     * @throws IllegalArgumentException if there is no such job
+     */
+    public LudoSchedule awaitSchedule(String jobId) throws InterruptedException {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown job " + jobId + ".");
+        }
+        job.done.await();
+        try {
+            // Returns once the solver manager dropped the job too, right after the final solution
+            job.solverJob.getFinalBestSolution();
+        } catch (ExecutionException | CancellationException e) {
+            // Failed, or terminated while waiting: the job is finished already
+        }
+        return getSchedule(jobId);
+    }
+
+    /**
+     * Stops solving the job, its best solution so far is kept.
+     *
+     * @return false if there is no such job
+     */
+    public boolean terminateEarly(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        terminateEarly(job);
+        return true;
+    }
+
+    private void terminateEarly(Job job) {
+        solverManager.terminateEarly(job.id);
+        // A job that didn't start is dropped right away, without a final solution. A solving job is dropped only after
+        // its final solution, finishing it again does nothing
+        if (solverManager.getSolverStatus(job.id) == SolverStatus.NOT_SOLVING) {
+            finish(job);
+        }
+    }
+
+    /**
+     * Stops solving the job and forgets it.
+     *
+     * @return false if there is no such job
+     */
+    public boolean remove(String jobId) {
+        Job job = jobs.remove(jobId);
+        if (job == null) {
+            return false;
+        }
+        terminateEarly(job);
+        return true;
+    }
+
+    /**
+     * Terminates all jobs.
+     */
+    @Override
+    public void close() {
+        // Closing the solver manager right away fails the running jobs instead of giving them their final solution
+        jobs.values().forEach(this::terminateEarly);
+        try {
+            for (Job job : jobs.values()) {
+                job.done.await(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        solverManager.close();
+    }
+}
@@ -0,0 +1,276 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.event.BestSolutionChangedEvent;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Samples a running solver at a fixed interval: evaluated moves and score calculations (in total and per second since
+ * the last sample), the best score, and the allocations of the solver thread, heap and garbage collection of the JVM.
+ * The samples are written as time series, as CSV (one line per sample, right away) or OpenMetrics text (when closed),
+ * and the latest sample can be served as OpenMetrics on {@code http://localhost:<port>/metrics}.
+ * <p>
+ * The counters are the ones of the solver scope, which Timefold's own solver metrics report as well. Reading them
+ * directly needs no meter registry, and is cheap enough to not slow down the solver.
+ */
+public class SolverTelemetry implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverTelemetry.class);
+
+    public enum Format {
+        CSV, OPENMETRICS;
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown metrics format " + name + ", expected csv or openmetrics");
+            }
+        }
+    }
+
+    /**
+     * @param moveEvaluationSpeed   per second since the previous sample
+     * @param scoreCalculationSpeed per second since the previous sample
+     * @param bestScore             null until the first best solution
+     * @param allocatedBytes        by the solver thread since solving started, -1 if the JVM can't tell (left out of
+     *                              the CSV and OpenMetrics then)
+     * @param gcCount               of all collectors since the JVM started
+     */
+    public record Sample(long timestampMillis, long millisSpent, long moveEvaluationCount, long moveEvaluationSpeed,
+                         long scoreCalculationCount, long scoreCalculationSpeed, HardSoftLongScore bestScore,
+                         long allocatedBytes, long heapUsedBytes, long gcCount, long gcMillis) {
+    }
+
+    /**
+     * @param value of a sample, null if unknown (the sample is left out then)
+     */
+    private record Metric(String name, String type, String help, Function<Sample, Number> value) {
+    }
+
+    private static final List<Metric> METRICS = List.of(
+            new Metric("ludo_solver_move_evaluation", "counter", "Evaluated moves", Sample::moveEvaluationCount),
+            new Metric("ludo_solver_move_evaluation_speed", "gauge", "Evaluated moves per second", Sample::moveEvaluationSpeed),
+            new Metric("ludo_solver_score_calculation", "counter", "Score calculations", Sample::scoreCalculationCount),
+            new Metric("ludo_solver_score_calculation_speed", "gauge", "Score calculations per second", Sample::scoreCalculationSpeed),
+            new Metric("ludo_solver_best_score_hard", "gauge", "Hard score of the best solution",
+                    sample -> sample.bestScore() == null ? Double.NaN : sample.bestScore().hardScore()),
+            new Metric("ludo_solver_best_score_soft", "gauge", "Soft score of the best solution",
+                    sample -> sample.bestScore() == null ? Double.NaN : sample.bestScore().softScore()),
+            new Metric("ludo_solver_allocated_bytes", "counter", "Bytes allocated by the solver thread",
+                    sample -> sample.allocatedBytes() < 0 ? null : sample.allocatedBytes()),
+            new Metric("ludo_jvm_heap_used_bytes", "gauge", "Used heap", Sample::heapUsedBytes),
+            new Metric("ludo_jvm_gc_collections", "counter", "Garbage collections", Sample::gcCount),
+            new Metric("ludo_jvm_gc_seconds", "counter", "Time spent in garbage collection",
+                    sample -> sample.gcMillis() / 1000.0));
+
+    private final Path file;
+    private final Format format;
+    private final Duration interval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "solver-telemetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpServer httpServer;
+    // Only used on the telemetry thread, or after it stopped
+    private final List<Sample> samples = new ArrayList<>();
+    private PrintWriter csvWriter;
+
+    private volatile SolverScope<LudoSchedule> solverScope;
+    private volatile HardSoftLongScore bestScore;
+    private volatile Sample latestSample;
+    private long solverThreadId;
+    private long startAllocatedBytes;
+
+    /**
+     * @param file  for the samples, or null to only serve them
+     * @param port  to serve the latest sample on (localhost only), or null for none
+     */
+    public SolverTelemetry(Path file, Format format, Integer port, Duration interval) throws IOException {
+        this.file = file;
+        this.format = format;
+        this.interval = interval;
+        if (file != null && format == Format.CSV) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            csvWriter = new PrintWriter(Files.newBufferedWriter(file));
+            csvWriter.println("timestamp,millisSpent,moveEvaluationCount,moveEvaluationSpeed,scoreCalculationCount,"
+                    + "scoreCalculationSpeed,hardScore,softScore,allocatedBytes,heapUsedBytes,gcCount,gcMillis");
+        }
+        if (port != null) {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics", exchange -> {
+                Sample sample = latestSample;
+                byte[] body = (sample == null ? "# EOF\n" : openMetrics(List.of(sample), false)).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/openmetrics-text; version=1.0.0; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(body);
+                }
+            });
+            httpServer.start();
+            LOGGER.info("Solver metrics on http://localhost:{}/metrics", httpServer.getAddress().getPort());
+        } else {
+            httpServer = null;
+        }
+    }
+
+    /**
+     * Starts sampling the given solver. Must be called on the thread that solves, right before solving.
+     */
+    public void start(DefaultSolver<LudoSchedule> solver) {
+        solverScope = solver.getSolverScope();
+        solverThreadId = Thread.currentThread().getId();
+        startAllocatedBytes = threadAllocatedBytes(solverThreadId);
+        solver.addEventListener((BestSolutionChangedEvent<LudoSchedule> event) ->
+                bestScore = (HardSoftLongScore) event.getNewBestScore());
+        executor.scheduleAtFixedRate(this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        SolverScope<LudoSchedule> scope = solverScope;
+        if (scope.getScoreDirector() == null || scope.getStartingSystemTimeMillis() == null) {
+            // Not solving yet
+            return;
+        }
+        try {
+            // The last sample is taken after solving ended
+            long millisSpent = scope.getEndingSystemTimeMillis() != null ? scope.getTimeMillisSpent()
+                    : scope.calculateTimeMillisSpentUpToNow();
+            long moveEvaluationCount = scope.getMoveEvaluationCount();
+            long scoreCalculationCount = scope.getScoreCalculationCount();
+            Sample previous = samples.isEmpty() ? null : samples.get(samples.size() - 1);
+            long previousMillis = previous == null ? 0 : previous.millisSpent();
+            long elapsedMillis = Math.max(1, millisSpent - previousMillis);
+
+            long gcCount = 0;
+            long gcMillis = 0;
+            for (GarbageCollectorMXBean garbageCollector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, garbageCollector.getCollectionCount());
+                gcMillis += Math.max(0, garbageCollector.getCollectionTime());
+            }
+            long allocatedBytes = threadAllocatedBytes(solverThreadId);
+            Sample sample = new Sample(System.currentTimeMillis(), millisSpent,
+                    moveEvaluationCount, (moveEvaluationCount - (previous == null ? 0 : previous.moveEvaluationCount())) * 1000 / elapsedMillis,
+                    scoreCalculationCount, (scoreCalculationCount - (previous == null ? 0 : previous.scoreCalculationCount())) * 1000 / elapsedMillis,
+                    bestScore, allocatedBytes < 0 ? -1 : allocatedBytes - startAllocatedBytes,
+                    ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), gcCount, gcMillis);
+            samples.add(sample);
+            latestSample = sample;
+            if (csvWriter != null) {
+                csvWriter.println(sample.timestampMillis() + "," + sample.millisSpent() + "," + sample.moveEvaluationCount()
+                        + "," + sample.moveEvaluationSpeed() + "," + sample.scoreCalculationCount() + ","
+                        + sample.scoreCalculationSpeed() + "," + (sample.bestScore() == null ? "" : sample.bestScore().hardScore())
+                        + "," + (sample.bestScore() == null ? "" : sample.bestScore().softScore()) + ","
+                        + (sample.allocatedBytes() < 0 ? "" : sample.allocatedBytes()) + "," + sample.heapUsedBytes() + "," + sample.gcCount() + "," + sample.gcMillis());
+                csvWriter.flush();
+            }
+        } catch (RuntimeException e) {
+            // E.g. the score director was just closed, solving goes on regardless
+            LOGGER.debug("Could not sample the solver", e);
+        }
+    }
+
+    private static long threadAllocatedBytes(long threadId) {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getThreadAllocatedBytes(threadId);
+        }
+        return -1;
+    }
+
+    /**
+     * All samples so far. Only to be called after {@link #close()}.
+     */
+    public List<Sample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * OpenMetrics text of the given samples, each metric family with one value per sample.
+     *
+     * @param withTimestamps for a time series, without for the latest values only
+     */
+    static String openMetrics(List<Sample> samples, boolean withTimestamps) {
+        StringBuilder builder = new StringBuilder();
+        for (Metric metric : METRICS) {
+            builder.append("# TYPE ").append(metric.name()).append(' ').append(metric.type()).append('\n');
+            builder.append("# HELP ").append(metric.name()).append(' ').append(metric.help()).append('\n');
+            for (Sample sample : samples) {
+                Number value = metric.value().apply(sample);
+                if (value == null) {
+                    continue;
+                }
+                builder.append(metric.name()).append(metric.type().equals("counter") ? "_total " : " ")
+                        .append(formatValue(value));
+                if (withTimestamps) {
+                    builder.append(' ').append(sample.timestampMillis() / 1000).append('.')
+                            .append(String.format("%03d", sample.timestampMillis() % 1000));
+                }
+                builder.append('\n');
+            }
+        }
+        return builder.append("# EOF\n").toString();
+    }
+
+    private static String formatValue(Number value) {
+        if (value instanceof Double doubleValue) {
+            return doubleValue.isNaN() ? "NaN" : doubleValue.toString();
+        }
+        return value.toString();
+    }
+
+    /**
+     * Takes a last sample, writes the OpenMetrics file (if that's the format) and stops serving.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(1, TimeUnit.MINUTES) && solverScope != null) {
+                sample();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (csvWriter != null) {
+            csvWriter.close();
+        } else if (file != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                writer.write(openMetrics(samples, true));
+            }
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+        if (file != null) {
+            LOGGER.info("{} solver metric samples written to {}", samples.size(), file.toAbsolutePath());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Solves the same season with and without {@link SeatSymmetryFilter} (same random seed) and writes the best score
+ * over the number of evaluated moves as CSV, to see how many moves the filter saves to reach the same score.
+ */
+public class SymmetryReport {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SymmetryReport.class);
+
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        Duration timeLimit = Duration.ofSeconds(arguments.getLong("seconds", 60));
+        Path output = Path.of(arguments.getString("out", "build/symmetry-report.csv"));
+        SeasonGenerator generator = SeasonGenerator.builder()
+                .people(arguments.getInt("people", 100))
+                .shifts(arguments.getInt("shifts", 150))
+                .seed(arguments.getLong("seed", 0))
+                .build();
+
+        Map<String, ScoreTimeline> timelines = new LinkedHashMap<>();
+        for (boolean symmetryBreaking : new boolean[]{false, true}) {
+            String variant = symmetryBreaking ? "symmetry-breaking" : "default";
+            SolverConfig solverConfig = LudoApp.createSolverConfig(arguments)
+                    .withPhases(new ConstructionHeuristicPhaseConfig(),
+                            LudoApp.localSearchPhaseConfig(symmetryBreaking, arguments.has("custom-moves")))
+                    .withRandomSeed(arguments.getLong("seed", 0))
+                    .withTerminationSpentLimit(timeLimit);
+            DefaultSolver<LudoSchedule> solver = (DefaultSolver<LudoSchedule>) SolverFactory.<LudoSchedule>create(solverConfig).buildSolver();
+
+            ScoreTimeline timeline = ScoreTimeline.record(solver);
+            LOGGER.info("Solving {} for {}", variant, timeLimit);
+            solver.solve(generator.generate());
+            LOGGER.info("{}: {} moves evaluated, {}/sec", variant, solver.getSolverScope().getMoveEvaluationCount(),
+                    solver.getSolverScope().getMoveEvaluationSpeed());
+            timelines.put(variant, timeline);
+        }
+        ScoreTimeline.writeCsv(output, "variant", timelines);
+        LOGGER.info("Score over moves written to {}", output.toAbsolutePath());
+
+        // Summary: how many moves each variant needed for the score both of them reached
+        Optional<HardSoftLongScore> referenceScore = timelines.values().stream()
+                .flatMap(timeline -> timeline.finalScore().stream())
+                .min(HardSoftLongScore::compareTo);
+        if (referenceScore.isEmpty()) {
+            LOGGER.warn("No variant found a solution, nothing to compare");
+            return;
+        }
+        LOGGER.info("Reference: final score {} of the worse variant", referenceScore.get());
+        timelines.forEach((variant, timeline) -> LOGGER.info("{}: final score {}, reference score reached after {}",
+                variant, timeline.finalScore().map(Object::toString).orElse("none"),
+                timeline.reached(referenceScore.get()).map(Object::toString).orElse("never")));
+    }
+}
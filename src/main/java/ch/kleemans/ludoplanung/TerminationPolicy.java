@@ -0,0 +1,97 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.config.solver.termination.TerminationCompositionStyle;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * When solving stops, according to the arguments (see README). Solving stops as soon as one of these is reached:
+ * <ul>
+ *     <li>the time limit: {@code --time-limit} seconds, or by default {@code --seconds-per-shift} for every shift that
+ *     is not pinned (at least {@link #MIN_TIME_LIMIT}, at most {@link #MAX_TIME_LIMIT})</li>
+ *     <li>{@code --unimproved-seconds} without a better score</li>
+ *     <li>the score {@code --score-target}, e.g. {@code 0hard/-500000soft}</li>
+ *     <li>{@code --plateau-seconds} without a better score, once no hard constraint is broken</li>
+ * </ul>
+ */
+public class TerminationPolicy {
+    static final long DEFAULT_SECONDS_PER_SHIFT = 2;
+    static final Duration MIN_TIME_LIMIT = Duration.ofSeconds(30);
+    static final Duration MAX_TIME_LIMIT = Duration.ofMinutes(30);
+
+    private final Duration fixedTimeLimit;
+    private final long secondsPerShift;
+    private final Duration unimprovedLimit;
+    private final String scoreTarget;
+    private final Duration plateauLimit;
+
+    public TerminationPolicy(Arguments arguments) {
+        String timeLimit = arguments.getString("time-limit", "auto");
+        this.fixedTimeLimit = timeLimit.equals("auto") ? null : Duration.ofSeconds(positive(arguments, "time-limit"));
+        this.secondsPerShift = arguments.has("seconds-per-shift") ? positive(arguments, "seconds-per-shift") : DEFAULT_SECONDS_PER_SHIFT;
+        this.unimprovedLimit = arguments.has("unimproved-seconds") ? Duration.ofSeconds(positive(arguments, "unimproved-seconds")) : null;
+        this.scoreTarget = arguments.getString("score-target", null);
+        if (scoreTarget != null) {
+            // Fails before loading and solving, not once the solver is built
+            HardSoftLongScore.parseScore(scoreTarget);
+        }
+        this.plateauLimit = arguments.has("plateau-seconds") ? Duration.ofSeconds(positive(arguments, "plateau-seconds")) : null;
+    }
+
+    private static long positive(Arguments arguments, String key) {
+        long value = arguments.getLong(key, 0);
+        if (value <= 0) {
+            throw new IllegalArgumentException("Expected a positive number of seconds for --" + key + ": " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Time limit for solving the given problem. Pinned shifts (e.g. before {@code --freeze-before}) don't count.
+     */
+    public Duration timeLimit(LudoSchedule problem) {
+        if (fixedTimeLimit != null) {
+            return fixedTimeLimit;
+        }
+        long openShifts = problem.getShifts().stream().filter(shift -> !shift.isPinned()).count();
+        Duration scaled = Duration.ofSeconds(openShifts * secondsPerShift);
+        return scaled.compareTo(MIN_TIME_LIMIT) < 0 ? MIN_TIME_LIMIT : scaled.compareTo(MAX_TIME_LIMIT) > 0 ? MAX_TIME_LIMIT : scaled;
+    }
+
+    public TerminationConfig terminationConfig(LudoSchedule problem) {
+        TerminationConfig terminationConfig = new TerminationConfig()
+                .withSpentLimit(timeLimit(problem))
+                .withUnimprovedSpentLimit(unimprovedLimit)
+                .withBestScoreLimit(scoreTarget);
+        if (plateauLimit != null) {
+            // Both at once, while the other limits are each enough on their own
+            terminationConfig.withTerminationConfigList(List.of(new TerminationConfig()
+                    .withTerminationCompositionStyle(TerminationCompositionStyle.AND)
+                    .withBestScoreFeasible(true)
+                    .withUnimprovedSpentLimit(plateauLimit)));
+        }
+        return terminationConfig;
+    }
+
+    @Override
+    public String toString() {
+        List<String> limits = new ArrayList<>();
+        limits.add(fixedTimeLimit != null ? "time limit " + fixedTimeLimit.toSeconds() + " s"
+                : "time limit " + secondsPerShift + " s per shift");
+        if (unimprovedLimit != null) {
+            limits.add(unimprovedLimit.toSeconds() + " s unimproved");
+        }
+        if (scoreTarget != null) {
+            limits.add("score " + scoreTarget);
+        }
+        if (plateauLimit != null) {
+            limits.add("feasible and " + plateauLimit.toSeconds() + " s unimproved");
+        }
+        return String.join(", ", limits);
+    }
+}
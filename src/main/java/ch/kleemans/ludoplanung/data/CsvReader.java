@@ -0,0 +1,110 @@
+package ch.kleemans.ludoplanung.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the records of a CSV file one at a time, without loading the whole file.
+ * <p>
+ * Fields may be quoted with {@code "}. A quoted field can contain the delimiter, line breaks and {@code ""} for a
+ * quote.
+ */
+final class CsvReader implements Closeable {
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private int lineNumber = 1;
+    private int recordLineNumber;
+    private boolean unclosedQuote;
+
+    CsvReader(Reader reader, char delimiter) {
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * @return the fields of the next record, or {@code null} at the end of the file
+     */
+    List<String> readRecord() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        if (c == '\uFEFF' && recordLineNumber == 0) {
+            // Byte order mark, e.g. in exports from Excel
+            c = read();
+        }
+        recordLineNumber = lineNumber;
+        unclosedQuote = false;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (c == '\n') {
+                lineNumber++;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        unclosedQuote = quoted;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @return the line the last record started on, starting with 1
+     */
+    int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /**
+     * @return whether the last record ended with the file while still in a quoted field
+     */
+    boolean hasUnclosedQuote() {
+        return unclosedQuote;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
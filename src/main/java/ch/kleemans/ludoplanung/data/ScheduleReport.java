@@ -0,0 +1,337 @@
+package ch.kleemans.ludoplanung.data;
+
+import ai.timefold.solver.core.api.score.analysis.ConstraintAnalysis;
+import ai.timefold.solver.core.api.score.analysis.ScoreAnalysis;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import ch.kleemans.ludoplanung.domain.Util;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static ch.kleemans.ludoplanung.LudoConstraintProvider.PLANNING_MONTHS;
+
+/**
+ * Report of a schedule: the shifts, and per person the number of shifts, unwanted dates and gaps between the shifts.
+ * With a score analysis, also the score per constraint.
+ * <p>
+ * The shifts of each person are collected in one pass over all shifts, and everything is written to the writer as it
+ * goes, so the report is cheap enough to write on every new best solution.
+ */
+public class ScheduleReport {
+
+    public enum Format {
+        TEXT, CSV, MARKDOWN, JSON;
+
+        public static Format parse(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown report format " + name + ", expected one of text, csv, markdown, json");
+            }
+        }
+    }
+
+    /**
+     * The shifts of a person.
+     *
+     * @param dates          of the shifts, in order
+     * @param unwantedDates dates of the shifts on an unwanted day of week, in order
+     * @param minGap        fewest days between two shifts, 0 with fewer than two shifts
+     * @param maxGap        most days between two shifts, 0 with fewer than two shifts
+     */
+    public record PersonSummary(Person person, List<LocalDate> dates, List<LocalDate> unwantedDates, long minGap,
+                                long maxGap) {
+
+        public int unwantedCount() {
+            return unwantedDates.size();
+        }
+
+        public float idealCount() {
+            return person.getIdealLoad() * PLANNING_MONTHS;
+        }
+    }
+
+    private final LudoSchedule schedule;
+    private final ScoreAnalysis<HardSoftLongScore> scoreAnalysis;
+    private final List<PersonSummary> personSummaries;
+
+    public ScheduleReport(LudoSchedule schedule) {
+        this(schedule, null);
+    }
+
+    /**
+     * @param scoreAnalysis of the schedule, e.g. of {@code SolutionManager.analyze}, or null to leave out the
+     *                      constraints
+     */
+    public ScheduleReport(LudoSchedule schedule, ScoreAnalysis<HardSoftLongScore> scoreAnalysis) {
+        this.schedule = schedule;
+        this.scoreAnalysis = scoreAnalysis;
+        this.personSummaries = summarize(schedule);
+    }
+
+    private static List<PersonSummary> summarize(LudoSchedule schedule) {
+        Map<Person, List<Shift>> shiftsByPerson = new HashMap<>();
+        for (Person person : schedule.getPeople()) {
+            shiftsByPerson.put(person, new ArrayList<>());
+        }
+        for (Shift shift : schedule.getShifts()) {
+            addShift(shiftsByPerson, shift.getPersonA(), shift);
+            addShift(shiftsByPerson, shift.getPersonB(), shift);
+        }
+
+        List<PersonSummary> summaries = new ArrayList<>(schedule.getPeople().size());
+        for (Person person : schedule.getPeople()) {
+            List<Shift> shifts = shiftsByPerson.get(person);
+            shifts.sort(Comparator.comparingLong(Shift::getEpochDay));
+            List<LocalDate> dates = new ArrayList<>(shifts.size());
+            List<LocalDate> unwantedDates = new ArrayList<>();
+            long minGap = Long.MAX_VALUE;
+            long maxGap = 0;
+            for (int i = 0; i < shifts.size(); i++) {
+                Shift shift = shifts.get(i);
+                dates.add(shift.getDate());
+                if (person.isUnwantedDate(shift)) {
+                    unwantedDates.add(shift.getDate());
+                }
+                if (i > 0) {
+                    long gap = shift.getEpochDay() - shifts.get(i - 1).getEpochDay();
+                    minGap = Math.min(minGap, gap);
+                    maxGap = Math.max(maxGap, gap);
+                }
+            }
+            summaries.add(new PersonSummary(person, dates, unwantedDates, shifts.size() < 2 ? 0 : minGap, maxGap));
+        }
+        return summaries;
+    }
+
+    private static void addShift(Map<Person, List<Shift>> shiftsByPerson, Person person, Shift shift) {
+        // People who are not part of the schedule (any more) are left out
+        List<Shift> shifts = person == null ? null : shiftsByPerson.get(person);
+        if (shifts != null) {
+            shifts.add(shift);
+        }
+    }
+
+    public List<PersonSummary> getPersonSummaries() {
+        return personSummaries;
+    }
+
+    public void write(Writer writer, Format format) throws IOException {
+        switch (format) {
+            case TEXT -> writeText(writer);
+            case CSV -> writeCsv(writer);
+            case MARKDOWN -> writeMarkdown(writer);
+            case JSON -> writeJson(writer);
+        }
+        writer.flush();
+    }
+
+    private Collection<ConstraintAnalysis<HardSoftLongScore>> constraintAnalyses() {
+        return scoreAnalysis == null ? List.of() : scoreAnalysis.constraintAnalyses();
+    }
+
+    private void writeText(Writer writer) throws IOException {
+        writer.write("Shifts\n===================\n");
+        for (Shift shift : schedule.getShifts()) {
+            writer.append(shift.toString()).append('\n');
+        }
+
+        writer.write("\nPeople  (for copy-paste)\n===================\n");
+        for (Shift shift : schedule.getShifts()) {
+            writer.append(String.valueOf(shift.getPersonA())).append(", ").append(String.valueOf(shift.getPersonB())).append('\n');
+        }
+
+        writer.write("\nPeople details\n===================\n");
+        for (PersonSummary summary : personSummaries) {
+            writer.append(summary.person().getName())
+                    .append(", shifts: ").append(String.valueOf(summary.dates().size()))
+                    .append('/').append(String.valueOf(summary.idealCount()))
+                    .append(", unwanted: ").append(String.valueOf(summary.unwantedCount()))
+                    .append(summary.unwantedDates().isEmpty() ? "" : " " + summary.unwantedDates())
+                    .append(", min/max gaps: ").append(String.valueOf(summary.minGap()))
+                    .append('/').append(String.valueOf(summary.maxGap()))
+                    .append(" (ideal: ").append(String.valueOf(Util.getExpectedGapDays(summary.person())))
+                    .append("), dates: ").append(summary.dates().toString()).append('\n');
+        }
+
+        if (scoreAnalysis != null) {
+            writer.write("\nConstraints\n===================\n");
+            for (ConstraintAnalysis<HardSoftLongScore> constraintAnalysis : constraintAnalyses()) {
+                writer.append(constraintAnalysis.constraintName())
+                        .append(": ").append(constraintAnalysis.score().toString())
+                        .append(" (").append(String.valueOf(constraintAnalysis.matchCount())).append(" matches)\n");
+            }
+            writer.append("Score: ").append(String.valueOf(scoreAnalysis.score())).append('\n');
+        }
+    }
+
+    /**
+     * One line per person, the dates separated by spaces.
+     */
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write("name,shifts,idealShifts,unwanted,minGap,maxGap,idealGap,dates\n");
+        for (PersonSummary summary : personSummaries) {
+            writer.append(csv(summary.person().getName()))
+                    .append(',').append(String.valueOf(summary.dates().size()))
+                    .append(',').append(String.valueOf(summary.idealCount()))
+                    .append(',').append(String.valueOf(summary.unwantedCount()))
+                    .append(',').append(String.valueOf(summary.minGap()))
+                    .append(',').append(String.valueOf(summary.maxGap()))
+                    .append(',').append(String.valueOf(Util.getExpectedGapDays(summary.person())))
+                    .append(',');
+            appendJoined(writer, summary.dates(), " ");
+            writer.append('\n');
+        }
+    }
+
+    private void writeMarkdown(Writer writer) throws IOException {
+        writer.write("## Shifts\n\n| Date | Person A | Person B |\n|---|---|---|\n");
+        for (Shift shift : schedule.getShifts()) {
+            writer.append("| ").append(shift.getDate().toString())
+                    .append(" | ").append(markdown(shift.getPersonA()))
+                    .append(" | ").append(markdown(shift.getPersonB())).append(" |\n");
+        }
+
+        writer.write("\n## People\n\n| Name | Shifts | Ideal | Unwanted | Min gap | Max gap | Ideal gap | Dates |\n"
+                + "|---|---:|---:|---:|---:|---:|---:|---|\n");
+        for (PersonSummary summary : personSummaries) {
+            writer.append("| ").append(markdown(summary.person()))
+                    .append(" | ").append(String.valueOf(summary.dates().size()))
+                    .append(" | ").append(String.valueOf(summary.idealCount()))
+                    .append(" | ").append(String.valueOf(summary.unwantedCount()))
+                    .append(" | ").append(String.valueOf(summary.minGap()))
+                    .append(" | ").append(String.valueOf(summary.maxGap()))
+                    .append(" | ").append(String.valueOf(Util.getExpectedGapDays(summary.person())))
+                    .append(" | ");
+            appendJoined(writer, summary.dates(), ", ");
+            writer.append(" |\n");
+        }
+
+        if (scoreAnalysis != null) {
+            writer.write("\n## Constraints\n\n| Constraint | Score | Matches |\n|---|---:|---:|\n");
+            for (ConstraintAnalysis<HardSoftLongScore> constraintAnalysis : constraintAnalyses()) {
+                writer.append("| ").append(constraintAnalysis.constraintName())
+                        .append(" | ").append(constraintAnalysis.score().toString())
+                        .append(" | ").append(String.valueOf(constraintAnalysis.matchCount())).append(" |\n");
+            }
+            writer.append("\nScore: ").append(String.valueOf(scoreAnalysis.score())).append('\n');
+        }
+    }
+
+    private void writeJson(Writer writer) throws IOException {
+        writer.append("{\"score\":").append(json(schedule.getScore() == null ? null : schedule.getScore().toString()));
+
+        writer.write(",\"shifts\":[");
+        List<Shift> shifts = schedule.getShifts();
+        for (int i = 0; i < shifts.size(); i++) {
+            Shift shift = shifts.get(i);
+            writer.append(i == 0 ? "" : ",")
+                    .append("{\"date\":").append(json(shift.getDate().toString()))
+                    .append(",\"personA\":").append(json(shift.getPersonA() == null ? null : shift.getPersonA().getName()))
+                    .append(",\"personB\":").append(json(shift.getPersonB() == null ? null : shift.getPersonB().getName()))
+                    .append(",\"pinned\":").append(String.valueOf(shift.isPinned())).append('}');
+        }
+
+        writer.write("],\"people\":[");
+        for (int i = 0; i < personSummaries.size(); i++) {
+            PersonSummary summary = personSummaries.get(i);
+            writer.append(i == 0 ? "" : ",")
+                    .append("{\"name\":").append(json(summary.person().getName()))
+                    .append(",\"shifts\":").append(String.valueOf(summary.dates().size()))
+                    .append(",\"idealShifts\":").append(String.valueOf(summary.idealCount()))
+                    .append(",\"unwanted\":").append(String.valueOf(summary.unwantedCount()))
+                    .append(",\"minGap\":").append(String.valueOf(summary.minGap()))
+                    .append(",\"maxGap\":").append(String.valueOf(summary.maxGap()))
+                    .append(",\"idealGap\":").append(String.valueOf(Util.getExpectedGapDays(summary.person())))
+                    .append(",\"dates\":[");
+            List<LocalDate> dates = summary.dates();
+            for (int j = 0; j < dates.size(); j++) {
+                writer.append(j == 0 ? "" : ",").append('"').append(dates.get(j).toString()).append('"');
+            }
+            writer.write("]}");
+        }
+
+        writer.write("],\"constraints\":[");
+        boolean first = true;
+        for (ConstraintAnalysis<HardSoftLongScore> constraintAnalysis : constraintAnalyses()) {
+            writer.append(first ? "" : ",")
+                    .append("{\"name\":").append(json(constraintAnalysis.constraintName()))
+                    .append(",\"hardScore\":").append(String.valueOf(constraintAnalysis.score().hardScore()))
+                    .append(",\"softScore\":").append(String.valueOf(constraintAnalysis.score().softScore()))
+                    .append(",\"matches\":").append(String.valueOf(constraintAnalysis.matchCount())).append('}');
+            first = false;
+        }
+        writer.write("]}\n");
+    }
+
+    private static void appendJoined(Writer writer, List<LocalDate> dates, String separator) throws IOException {
+        for (int i = 0; i < dates.size(); i++) {
+            writer.append(i == 0 ? "" : separator).append(dates.get(i).toString());
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String markdown(Person person) {
+        return person == null ? "" : person.getName().replace("|", "\\|");
+    }
+
+    /**
+     * The value as quoted JSON string, or {@code null}.
+     */
+    public static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * The report as text, e.g. for logging. Writing to a string can't fail.
+     */
+    public static String toText(LudoSchedule schedule) {
+        StringWriter writer = new StringWriter();
+        try {
+            new ScheduleReport(schedule).write(writer, Format.TEXT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
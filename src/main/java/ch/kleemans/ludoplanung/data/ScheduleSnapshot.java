@@ -0,0 +1,260 @@
+package ch.kleemans.ludoplanung.data;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ch.kleemans.ludoplanung.domain.DateSet;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of a {@link LudoSchedule}, including the assignments and the score, e.g. to continue solving later.
+ * Much faster to load than the form export: a snapshot is memory-mapped and read in one pass, and the availability
+ * bitmaps are used as they are (see {@link DateSet}).
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header:  magic "LUDO", version, flags, person count, shift count, first day (epoch day), day count,
+ *          hard score, soft score
+ * people:  ideal load, unwanted days (bit per day of week, Monday = bit 0), availability bitmap (a long per 64 days,
+ *          starting at the first day)
+ * shifts:  day (since the first day), index of person A and person B (-1 if unassigned), flags (1 = pinned, since
+ *          version 2)
+ * strings: person names, then shift ids (length, UTF-8)
+ * trailer: CRC32 of everything before
+ * </pre>
+ * The constraint weight overrides are not part of the snapshot.
+ */
+public class ScheduleSnapshot {
+    private static final int MAGIC = 0x4C55444F; // "LUDO"
+    private static final int VERSION = 2;
+    private static final int FLAG_SCORE = 1;
+    private static final int FLAG_PINNED = 1;
+
+    private static final int HEADER_SIZE = 4 * 4 + 4 + 8 + 4 + 2 * 8;
+    private static final int SHIFT_FIELDS = 4;
+    // Version 1 had no shift flags
+    private static final int SHIFT_FIELDS_VERSION_1 = 3;
+
+    private ScheduleSnapshot() {
+    }
+
+    /**
+     * Writes the snapshot to a temporary file first and then moves it over the given file, so a crash while writing
+     * never leaves a broken snapshot behind.
+     */
+    public static void write(LudoSchedule schedule, Path file) throws IOException {
+        List<Person> people = schedule.getPeople();
+        List<Shift> shifts = schedule.getShifts();
+
+        long firstDay = Long.MAX_VALUE;
+        long lastDay = Long.MIN_VALUE;
+        for (Person person : people) {
+            for (LocalDate date : person.getAvailableDates()) {
+                firstDay = Math.min(firstDay, date.toEpochDay());
+                lastDay = Math.max(lastDay, date.toEpochDay());
+            }
+        }
+        for (Shift shift : shifts) {
+            firstDay = Math.min(firstDay, shift.getEpochDay());
+            lastDay = Math.max(lastDay, shift.getEpochDay());
+        }
+        int dayCount = firstDay > lastDay ? 0 : Math.toIntExact(lastDay - firstDay + 1);
+        int words = (dayCount + 63) / 64;
+
+        Map<Person, Integer> personIndexes = new HashMap<>();
+        int stringSize = 0;
+        List<byte[]> strings = new ArrayList<>();
+        for (Person person : people) {
+            personIndexes.put(person, personIndexes.size());
+            strings.add(person.getName().getBytes(StandardCharsets.UTF_8));
+        }
+        for (Shift shift : shifts) {
+            strings.add(shift.getId().getBytes(StandardCharsets.UTF_8));
+        }
+        for (byte[] string : strings) {
+            stringSize += 4 + string.length;
+        }
+
+        int size = HEADER_SIZE + people.size() * (8 + words * 8) + shifts.size() * SHIFT_FIELDS * 4 + stringSize + 4;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        HardSoftLongScore score = schedule.getScore();
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(score == null ? 0 : FLAG_SCORE)
+                .putInt(people.size())
+                .putInt(shifts.size())
+                .putLong(dayCount == 0 ? 0 : firstDay)
+                .putInt(dayCount)
+                .putLong(score == null ? 0 : score.hardScore())
+                .putLong(score == null ? 0 : score.softScore());
+
+        long[] bitmap = new long[words];
+        for (Person person : people) {
+            int unwantedDays = 0;
+            for (DayOfWeek dayOfWeek : person.getUnwantedDaysOfWeek()) {
+                unwantedDays |= 1 << dayOfWeek.ordinal();
+            }
+            buffer.putFloat(person.getIdealLoad()).putInt(unwantedDays);
+
+            Arrays.fill(bitmap, 0);
+            for (LocalDate date : person.getAvailableDates()) {
+                int day = (int) (date.toEpochDay() - firstDay);
+                bitmap[day >>> 6] |= 1L << day;
+            }
+            for (long word : bitmap) {
+                buffer.putLong(word);
+            }
+        }
+
+        for (Shift shift : shifts) {
+            buffer.putInt((int) (shift.getEpochDay() - firstDay))
+                    .putInt(indexOf(personIndexes, shift.getPersonA()))
+                    .putInt(indexOf(personIndexes, shift.getPersonB()))
+                    .putInt(shift.isPinned() ? FLAG_PINNED : 0);
+        }
+
+        for (byte[] string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryFile, buffer.array());
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private static int indexOf(Map<Person, Integer> personIndexes, Person person) {
+        if (person == null) {
+            return -1;
+        }
+        Integer index = personIndexes.get(person);
+        if (index == null) {
+            throw new IllegalArgumentException("Person " + person + " is assigned to a shift, but not part of the schedule.");
+        }
+        return index;
+    }
+
+    public static LudoSchedule read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE + 4 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a schedule snapshot: " + file);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION && version != 1) {
+            throw new IOException("Unsupported snapshot version " + version + " (expected " + VERSION + "): " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, buffer.limit() - 4));
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Snapshot is corrupt (checksum mismatch): " + file);
+        }
+
+        buffer.position(8);
+        int flags = buffer.getInt();
+        int personCount = buffer.getInt();
+        int shiftCount = buffer.getInt();
+        long firstDay = buffer.getLong();
+        int dayCount = buffer.getInt();
+        long hardScore = buffer.getLong();
+        long softScore = buffer.getLong();
+        int words = (dayCount + 63) / 64;
+        int shiftFields = version == 1 ? SHIFT_FIELDS_VERSION_1 : SHIFT_FIELDS;
+
+        float[] idealLoads = new float[personCount];
+        List<Set<DayOfWeek>> unwantedDays = new ArrayList<>(personCount);
+        List<Set<LocalDate>> availableDates = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            idealLoads[i] = buffer.getFloat();
+            int unwantedMask = buffer.getInt();
+            Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if ((unwantedMask & 1 << dayOfWeek.ordinal()) != 0) {
+                    days.add(dayOfWeek);
+                }
+            }
+            unwantedDays.add(days);
+
+            // Used as is by the person, without a LocalDate per available day
+            int bitmapSize = words * 8;
+            DateSet available = new DateSet(firstDay, BitSet.valueOf(buffer.slice(buffer.position(), bitmapSize).asLongBuffer()));
+            buffer.position(buffer.position() + bitmapSize);
+            availableDates.add(available);
+        }
+
+        // Every shift date is created once
+        LocalDate[] dates = new LocalDate[dayCount];
+        int[] shiftData = new int[shiftCount * shiftFields];
+        buffer.asIntBuffer().get(shiftData);
+        buffer.position(buffer.position() + shiftData.length * 4);
+
+        List<Person> people = new ArrayList<>(personCount);
+        for (int i = 0; i < personCount; i++) {
+            people.add(Person.builder()
+                    .name(readString(buffer))
+                    .idealLoad(idealLoads[i])
+                    .availableDates(availableDates.get(i))
+                    .unwantedDaysOfWeek(unwantedDays.get(i))
+                    .build());
+        }
+
+        List<Shift> shifts = new ArrayList<>(shiftCount);
+        for (int i = 0; i < shiftCount; i++) {
+            int offset = i * shiftFields;
+            int personA = shiftData[offset + 1];
+            int personB = shiftData[offset + 2];
+            Shift shift = new Shift(date(dates, firstDay, shiftData[offset]),
+                    personA < 0 ? null : people.get(personA), personB < 0 ? null : people.get(personB));
+            shift.setId(readString(buffer));
+            shift.setPinned(version > 1 && (shiftData[offset + 3] & FLAG_PINNED) != 0);
+            shifts.add(shift);
+        }
+
+        LudoSchedule schedule = new LudoSchedule(shifts, people);
+        if ((flags & FLAG_SCORE) != 0) {
+            schedule.setScore(HardSoftLongScore.of(hardScore, softScore));
+        }
+        return schedule;
+    }
+
+    private static LocalDate date(LocalDate[] dates, long firstDay, int day) {
+        LocalDate date = dates[day];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(firstDay + day);
+            dates[day] = date;
+        }
+        return date;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
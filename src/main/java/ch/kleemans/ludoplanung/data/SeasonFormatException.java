@@ -0,0 +1,20 @@
+package ch.kleemans.ludoplanung.data;
+
+import java.util.List;
+
+/**
+ * A season could not be loaded. Lists every problem found, each with file name and line number, so the form export
+ * can be fixed in one go.
+ */
+public class SeasonFormatException extends RuntimeException {
+    private final List<String> errors;
+
+    public SeasonFormatException(List<String> errors) {
+        super(errors.size() + " problem(s) in season:\n  " + String.join("\n  ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,226 @@
+package ch.kleemans.ludoplanung.data;
+
+import ch.kleemans.ludoplanung.Arguments;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import ch.kleemans.ludoplanung.domain.Util;
+import lombok.Builder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Generates synthetic seasons, e.g. to load-test the solver with many more volunteers than we have, or to share a
+ * realistic season without real names.
+ * <p>
+ * The same settings and seed always generate the same season. It can be written in the same format as the real
+ * {@code dates.txt} and {@code form_answers.csv}.
+ */
+@Builder
+public class SeasonGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeasonGenerator.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy");
+
+    @Builder.Default
+    private final int people = 40;
+    @Builder.Default
+    private final int shifts = 66;
+    @Builder.Default
+    private final LocalDate startDate = LocalDate.of(2026, 2, 10);
+    @Builder.Default
+    private final Set<DayOfWeek> shiftDays = EnumSet.of(DayOfWeek.TUESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+    // Ideal loads (shifts per month) with their relative frequency
+    @Builder.Default
+    private final Map<Float, Integer> idealLoadWeights = Map.of(1f, 5, 1.5f, 2, 2f, 3);
+    // Average share of the shifts a person is available for, varies per person
+    @Builder.Default
+    private final double availability = 0.3;
+    // Share of the people with unwanted days of week
+    @Builder.Default
+    private final double unwantedDaysRate = 0.3;
+    @Builder.Default
+    private final long seed = 0;
+
+    public static void main(String[] args) throws IOException {
+        Arguments arguments = new Arguments(args);
+        SeasonGenerator generator = SeasonGenerator.builder()
+                .people(arguments.getInt("people", 40))
+                .shifts(arguments.getInt("shifts", 66))
+                .startDate(LocalDate.parse(arguments.getString("start", "2026-02-10")))
+                .shiftDays(parseShiftDays(arguments.getString("shift-days", "TUESDAY,FRIDAY,SATURDAY")))
+                .idealLoadWeights(parseIdealLoads(arguments.getString("ideal-loads", "1:5,1.5:2,2:3")))
+                .availability(arguments.getDouble("availability", 0.3))
+                .unwantedDaysRate(arguments.getDouble("unwanted-rate", 0.3))
+                .seed(arguments.getLong("seed", 0))
+                .build();
+        Path directory = Path.of(arguments.getString("out", "build/generated-season"));
+
+        LudoSchedule season = generator.generate();
+        write(season, directory);
+        LOGGER.info("Generated {} people and {} shifts in {}", season.getPeople().size(), season.getShifts().size(),
+                directory.toAbsolutePath());
+    }
+
+    /**
+     * Days of week with shifts, e.g. {@code TUESDAY,FRIDAY,SATURDAY}.
+     */
+    public static Set<DayOfWeek> parseShiftDays(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : value.split(",")) {
+            try {
+                days.add(DayOfWeek.valueOf(day.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid day of week: " + day + ", expected e.g. TUESDAY");
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Ideal loads (shifts per month) with their relative frequency, e.g. {@code 1:5,1.5:2,2:3}: of 10 people, 5 want 1
+     * shift a month, 2 want 1.5 and 3 want 2.
+     */
+    public static Map<Float, Integer> parseIdealLoads(String value) {
+        Map<Float, Integer> weights = new HashMap<>();
+        for (String entry : value.split(",")) {
+            String[] loadAndWeight = entry.trim().split(":");
+            try {
+                if (loadAndWeight.length != 2) {
+                    throw new NumberFormatException();
+                }
+                float load = Float.parseFloat(loadAndWeight[0]);
+                int weight = Integer.parseInt(loadAndWeight[1]);
+                if (load <= 0 || weight <= 0) {
+                    throw new NumberFormatException();
+                }
+                weights.put(load, weight);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid ideal load: " + entry
+                        + ", expected a positive load and weight, e.g. 1.5:2");
+            }
+        }
+        return weights;
+    }
+
+    public LudoSchedule generate() {
+        if (people < 2 || shifts < 1) {
+            throw new IllegalArgumentException("A season needs at least 2 people and 1 shift.");
+        }
+        if (shiftDays.isEmpty()) {
+            throw new IllegalArgumentException("A season needs at least one day of week with shifts.");
+        }
+        Random random = new Random(seed);
+
+        List<Shift> shiftList = new ArrayList<>();
+        for (LocalDate date = startDate; shiftList.size() < shifts; date = date.plusDays(1)) {
+            if (shiftDays.contains(date.getDayOfWeek())) {
+                shiftList.add(new Shift(date, null, null));
+            }
+        }
+
+        List<Set<LocalDate>> availableDates = new ArrayList<>();
+        for (int i = 0; i < people; i++) {
+            // Some people are available a lot more often than others
+            double personAvailability = Math.min(1, availability * (0.5 + random.nextDouble()));
+            Set<LocalDate> dates = new HashSet<>();
+            for (Shift shift : shiftList) {
+                if (random.nextDouble() < personAvailability) {
+                    dates.add(shift.getDate());
+                }
+            }
+            if (dates.isEmpty()) {
+                dates.add(shiftList.get(random.nextInt(shiftList.size())).getDate());
+            }
+            availableDates.add(dates);
+        }
+        // Every shift needs two different people who are available, for person A and B
+        for (Shift shift : shiftList) {
+            long available = availableDates.stream().filter(dates -> dates.contains(shift.getDate())).count();
+            while (available < 2) {
+                if (availableDates.get(random.nextInt(people)).add(shift.getDate())) {
+                    available++;
+                }
+            }
+        }
+
+        List<DayOfWeek> days = new ArrayList<>(shiftDays);
+        List<Person> personList = new ArrayList<>();
+        for (int i = 0; i < people; i++) {
+            Set<DayOfWeek> unwantedDays = EnumSet.noneOf(DayOfWeek.class);
+            if (random.nextDouble() < unwantedDaysRate) {
+                unwantedDays.add(days.get(random.nextInt(days.size())));
+                if (random.nextBoolean()) {
+                    unwantedDays.add(days.get(random.nextInt(days.size())));
+                }
+            }
+            personList.add(Person.builder()
+                    .name(String.format("Person %0" + String.valueOf(people).length() + "d", i + 1))
+                    .idealLoad(nextIdealLoad(random))
+                    .availableDates(availableDates.get(i))
+                    .unwantedDaysOfWeek(unwantedDays)
+                    .build());
+        }
+        return new LudoSchedule(shiftList, personList);
+    }
+
+    private float nextIdealLoad(Random random) {
+        // Sorted, so the same seed always picks the same load
+        List<Float> loads = idealLoadWeights.keySet().stream().sorted().toList();
+        int total = loads.stream().mapToInt(idealLoadWeights::get).sum();
+        int pick = random.nextInt(total);
+        for (Float load : loads) {
+            pick -= idealLoadWeights.get(load);
+            if (pick < 0) {
+                return load;
+            }
+        }
+        throw new IllegalStateException("Ideal load weights must be positive: " + idealLoadWeights);
+    }
+
+    /**
+     * Writes the season as {@code dates.txt} and {@code form_answers.csv} into the given directory.
+     */
+    public static void write(LudoSchedule season, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("dates.txt"))) {
+            writer.write("Daten\n");
+            for (Shift shift : season.getShifts()) {
+                writer.write(formatDate(shift.getDate()) + "\t" + Util.getShortString(shift.getDayOfWeek()) + ".\n");
+            }
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve("form_answers.csv"))) {
+            writer.write("\"Zeitstempel\",\"Mein Name:\",factor,unwanted,\"Ich kann an diesen Daten den Ludo-Dienst übernehmen:\"\n");
+            for (Person person : season.getPeople()) {
+                String unwantedDays = person.getUnwantedDaysOfWeek().stream()
+                        .sorted()
+                        .map(Util::getShortString)
+                        .collect(Collectors.joining(";"));
+                String dates = person.getAvailableDates().stream()
+                        .sorted()
+                        .map(date -> formatDate(date) + " " + Util.getShortString(date.getDayOfWeek()) + ".")
+                        .collect(Collectors.joining(";"));
+                writer.write("\"2025/11/27 9:00:00 PM MEZ\",\"" + person.getName() + "\"," + formatLoad(person.getIdealLoad())
+                        + "," + unwantedDays + ",\"" + dates + "\"\n");
+            }
+        }
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date.format(DATE_FORMATTER);
+    }
+
+    private static String formatLoad(float load) {
+        return load == Math.rint(load) ? String.valueOf((int) load) : String.valueOf(load);
+    }
+}
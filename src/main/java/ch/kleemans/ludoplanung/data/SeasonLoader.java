@@ -0,0 +1,252 @@
+package ch.kleemans.ludoplanung.data;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import ch.kleemans.ludoplanung.domain.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * Loads a season from the dates of the shifts ({@code dates.txt}) and the answers of the form
+ * ({@code form_answers.csv}), see {@link SeasonGenerator#write} for the format.
+ * <p>
+ * Both files are read line by line. Instead of stopping at the first problem, all problems are collected and reported
+ * together with their line numbers in a {@link SeasonFormatException}.
+ */
+public class SeasonLoader {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SeasonLoader.class);
+
+    public static final String DATES_FILE = "dates.txt";
+    public static final String ANSWERS_FILE = "form_answers.csv";
+    // Reads from standard input instead of a file
+    public static final String STDIN = "-";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy");
+    private static final int NAME_COLUMN = 1;
+    private static final int IDEAL_LOAD_COLUMN = 2;
+    private static final int UNWANTED_COLUMN = 3;
+    private static final int DATES_COLUMN = 4;
+
+    // Every date is parsed once, people and shifts share the same instances
+    private final Map<String, LocalDate> dates = new HashMap<>();
+    private final Map<LocalDate, Integer> shiftLines = new LinkedHashMap<>();
+    private final List<String> errors = new ArrayList<>();
+
+    private SeasonLoader() {
+    }
+
+    /**
+     * Loads {@code dates.txt} and {@code form_answers.csv} from the given directory.
+     */
+    public static LudoSchedule load(Path directory) throws IOException {
+        return load(directory.resolve(DATES_FILE).toString(), directory.resolve(ANSWERS_FILE).toString());
+    }
+
+    /**
+     * @param datesFile   path of the dates, or {@link #STDIN}
+     * @param answersFile path of the form answers, or {@link #STDIN}
+     */
+    public static LudoSchedule load(String datesFile, String answersFile) throws IOException {
+        if (datesFile.equals(STDIN) && answersFile.equals(STDIN)) {
+            throw new IllegalArgumentException("Only one of the dates and the form answers can be read from standard input.");
+        }
+        try (Reader dates = open(datesFile); Reader answers = open(answersFile)) {
+            return load(dates, name(datesFile), answers, name(answersFile));
+        }
+    }
+
+    /**
+     * @param datesName   used in error messages, e.g. the file name
+     * @param answersName used in error messages, e.g. the file name
+     */
+    public static LudoSchedule load(Reader dates, String datesName, Reader answers, String answersName) throws IOException {
+        return new SeasonLoader().read(dates, datesName, answers, answersName);
+    }
+
+    private static Reader open(String file) throws IOException {
+        if (file.equals(STDIN)) {
+            return new InputStreamReader(System.in, StandardCharsets.UTF_8);
+        }
+        return Files.newBufferedReader(Path.of(file));
+    }
+
+    private static String name(String file) {
+        return file.equals(STDIN) ? "<stdin>" : file;
+    }
+
+    private LudoSchedule read(Reader datesReader, String datesName, Reader answersReader, String answersName) throws IOException {
+        List<Shift> shifts = readShifts(new CsvReader(datesReader, '\t'), datesName);
+        List<Person> people = readPeople(new CsvReader(answersReader, ','), answersName);
+
+        // Every shift needs somebody who can take it
+        Set<LocalDate> availableDates = new HashSet<>();
+        people.forEach(person -> availableDates.addAll(person.getAvailableDates()));
+        shiftLines.forEach((date, line) -> {
+            if (!availableDates.contains(date)) {
+                errors.add(datesName + ":" + line + ": Nobody is available on " + date);
+            }
+        });
+
+        if (!errors.isEmpty()) {
+            throw new SeasonFormatException(errors);
+        }
+        LOGGER.info("Loaded {} shifts and {} people", shifts.size(), people.size());
+        return new LudoSchedule(shifts, people);
+    }
+
+    private List<Shift> readShifts(CsvReader reader, String source) throws IOException {
+        List<Shift> shifts = new ArrayList<>();
+        reader.readRecord(); // Header
+        for (List<String> record; (record = reader.readRecord()) != null; ) {
+            String location = source + ":" + reader.getRecordLineNumber() + ": ";
+            String dateString = record.get(0).strip();
+            if (dateString.isEmpty()) {
+                continue;
+            }
+            LocalDate date = parseDate(dateString, location);
+            if (date == null) {
+                continue;
+            }
+            if (record.size() > 1 && !record.get(1).isBlank()) {
+                DayOfWeek dayOfWeek = parseDayOfWeek(record.get(1).strip().replace(".", ""));
+                if (dayOfWeek != date.getDayOfWeek()) {
+                    errors.add(location + "Day of week '" + record.get(1).strip() + "' does not match " + date + " ("
+                            + date.getDayOfWeek() + ")");
+                }
+            }
+            Integer firstLine = shiftLines.putIfAbsent(date, reader.getRecordLineNumber());
+            if (firstLine != null) {
+                errors.add(location + "Duplicate date " + dateString + ", already on line " + firstLine);
+                continue;
+            }
+            shifts.add(new Shift(date, null, null));
+        }
+        return shifts;
+    }
+
+    private List<Person> readPeople(CsvReader reader, String source) throws IOException {
+        List<Person> people = new ArrayList<>();
+        Map<String, Integer> nameLines = new HashMap<>();
+        reader.readRecord(); // Header
+        for (List<String> record; (record = reader.readRecord()) != null; ) {
+            int line = reader.getRecordLineNumber();
+            String location = source + ":" + line + ": ";
+            if (reader.hasUnclosedQuote()) {
+                errors.add(location + "Quote is never closed");
+                break;
+            }
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (record.size() <= DATES_COLUMN) {
+                errors.add(location + "Expected at least " + (DATES_COLUMN + 1) + " columns, found " + record.size());
+                continue;
+            }
+            int errorCount = errors.size();
+
+            String name = record.get(NAME_COLUMN).strip();
+            if (name.isEmpty()) {
+                errors.add(location + "Name is missing");
+            } else {
+                Integer firstLine = nameLines.putIfAbsent(name, line);
+                if (firstLine != null) {
+                    errors.add(location + "Duplicate name '" + name + "', already on line " + firstLine);
+                }
+            }
+
+            float idealLoad = 0;
+            try {
+                idealLoad = Float.parseFloat(record.get(IDEAL_LOAD_COLUMN).strip());
+            } catch (NumberFormatException e) {
+                // Checked below
+            }
+            if (!(idealLoad > 0)) {
+                errors.add(location + "Ideal load must be a positive number: '" + record.get(IDEAL_LOAD_COLUMN) + "'");
+            }
+
+            Set<DayOfWeek> unwantedDays = EnumSet.noneOf(DayOfWeek.class);
+            for (String day : record.get(UNWANTED_COLUMN).split(";")) {
+                if (day.isBlank()) {
+                    continue;
+                }
+                DayOfWeek dayOfWeek = parseDayOfWeek(day.strip());
+                if (dayOfWeek == null) {
+                    errors.add(location + "Unknown day of week '" + day.strip() + "'");
+                } else {
+                    unwantedDays.add(dayOfWeek);
+                }
+            }
+
+            Set<LocalDate> availableDates = new HashSet<>();
+            for (String entry : record.get(DATES_COLUMN).split(";")) {
+                // E.g. "10.02.26 Di."
+                String dateString = entry.strip();
+                int space = dateString.indexOf(' ');
+                if (space >= 0) {
+                    dateString = dateString.substring(0, space);
+                }
+                if (dateString.isEmpty()) {
+                    continue;
+                }
+                LocalDate date = parseDate(dateString, location);
+                if (date == null) {
+                    continue;
+                }
+                if (!shiftLines.containsKey(date)) {
+                    errors.add(location + "Date " + dateString + " is not in the shift dates");
+                }
+                availableDates.add(date);
+            }
+            if (availableDates.isEmpty()) {
+                errors.add(location + "No available dates");
+            }
+
+            if (errors.size() == errorCount) {
+                LOGGER.debug("{} has available dates: {}", name, availableDates);
+                people.add(Person.builder()
+                        .name(name)
+                        .idealLoad(idealLoad)
+                        .availableDates(availableDates)
+                        .unwantedDaysOfWeek(unwantedDays)
+                        .build());
+            }
+        }
+        return people;
+    }
+
+    private LocalDate parseDate(String dateString, String location) {
+        LocalDate date = dates.get(dateString);
+        if (date == null) {
+            try {
+                date = LocalDate.parse(dateString, DATE_FORMATTER);
+            } catch (DateTimeParseException e) {
+                errors.add(location + "Invalid date '" + dateString + "', expected e.g. 10.02.26");
+                return null;
+            }
+            dates.put(dateString, date);
+        }
+        return date;
+    }
+
+    private static DayOfWeek parseDayOfWeek(String shortString) {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (Util.getShortString(dayOfWeek).equalsIgnoreCase(shortString)) {
+                return dayOfWeek;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,71 @@
+package ch.kleemans.ludoplanung.domain;
+
+import java.time.LocalDate;
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of dates stored as bits per epoch day, starting at a given day. Much smaller than a
+ * {@code HashSet<LocalDate>}, and {@link Person} uses the bits directly for its availability lookups.
+ */
+public final class DateSet extends AbstractSet<LocalDate> {
+    private final long firstDay;
+    private final BitSet days;
+    private final int size;
+
+    /**
+     * @param firstDay epoch day of bit 0
+     * @param days     bit per day since the first day, not copied, so it must not be changed afterwards
+     */
+    public DateSet(long firstDay, BitSet days) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.size = days.cardinality();
+    }
+
+    long getFirstDay() {
+        return firstDay;
+    }
+
+    BitSet getDays() {
+        return days;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof LocalDate date)) {
+            return false;
+        }
+        long offset = date.toEpochDay() - firstDay;
+        return offset >= 0 && offset < days.length() && days.get((int) offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<LocalDate> iterator() {
+        return new Iterator<>() {
+            private int next = days.nextSetBit(0);
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public LocalDate next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                LocalDate date = LocalDate.ofEpochDay(firstDay + next);
+                next = days.nextSetBit(next + 1);
+                return date;
+            }
+        };
+    }
+}
@@ -1,23 +1,18 @@
 package ch.kleemans.ludoplanung.domain;
 
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
 import ai.timefold.solver.core.api.domain.solution.PlanningEntityCollectionProperty;
 import ai.timefold.solver.core.api.domain.solution.PlanningScore;
 import ai.timefold.solver.core.api.domain.solution.PlanningSolution;
 import ai.timefold.solver.core.api.domain.solution.ProblemFactCollectionProperty;
-import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
-import ai.timefold.solver.core.api.score.buildin.hardsoftbigdecimal.HardSoftBigDecimalScore;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
 import ai.timefold.solver.core.api.solver.SolverStatus;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.IntStream;
-
-import static ch.kleemans.ludoplanung.LudoConstraintProvider.PLANNING_MONTHS;
 
 @PlanningSolution
 @NoArgsConstructor
@@ -26,57 +21,68 @@ import static ch.kleemans.ludoplanung.LudoConstraintProvider.PLANNING_MONTHS;
 public class LudoSchedule {
 
     @ProblemFactCollectionProperty
-    @ValueRangeProvider
     private List<Person> people;
 
     @PlanningEntityCollectionProperty
     private List<Shift> shifts;
 
     @PlanningScore
-    private HardSoftBigDecimalScore score;
+    private HardSoftLongScore score;
+
+    // E.g. to disable constraints by giving them a zero weight
+    private ConstraintWeightOverrides<HardSoftLongScore> constraintWeightOverrides = ConstraintWeightOverrides.none();
 
     private SolverStatus solverStatus;
 
     public LudoSchedule(List<Shift> shifts, List<Person> people) {
         this.shifts = shifts;
         this.people = people;
+        updateAvailablePeople();
     }
 
-    @Override
-    public String toString() {
-        var s = "Shifts\n===================\n";
+    /**
+     * Sets the people the solver tries per shift, needed again after people or their available dates changed.
+     */
+    public void updateAvailablePeople() {
         for (Shift shift : shifts) {
-            s += shift.toString() + "\n";
+            shift.setAvailablePeople(availablePeopleFor(shift));
         }
+    }
 
-        s += "\nPeople  (for copy-paste)\n===================\n";
-        for (Shift shift : shifts) {
-            s += shift.getPersonA() + ", " + shift.getPersonB() + "\n";
-        }
+    /**
+     * The people available on the date of the shift. So the solver doesn't waste time on moves that break the
+     * availability anyway.
+     */
+    public List<Person> availablePeopleFor(Shift shift) {
+        List<Person> availablePeople = people.stream().filter(person -> person.isAvailable(shift)).toList();
+        // Person A and B must be different, so with fewer than two the shift can only be filled with somebody else
+        return availablePeople.size() < 2 ? List.copyOf(people) : availablePeople;
+    }
 
-        s += "\nPeople details\n===================\n";
-        for (Person person : people) {
-            List<LocalDate> dateList = new ArrayList<>();
-            for (Shift shift : shifts) {
-                if (shift.getPersonA() != null && shift.getPersonA().equals(person) || shift.getPersonB() != null && shift.getPersonB().equals(person)) {
-                    dateList.add(shift.getDate());
-                }
+    /**
+     * Pins the assigned shifts before the given date, so solving only changes the rest of the season. Unassigned shifts
+     * stay open, they still need people.
+     *
+     * @return the number of pinned shifts
+     */
+    public int freezeBefore(LocalDate date) {
+        int pinned = 0;
+        for (Shift shift : shifts) {
+            if (shift.getDate().isBefore(date) && shift.getPersonA() != null && shift.getPersonB() != null) {
+                shift.setPinned(true);
+                pinned++;
             }
-            long maxGap =
-                    IntStream.range(0, dateList.size() - 1)
-                            .mapToLong(i -> ChronoUnit.DAYS.between(dateList.get(i), dateList.get(i + 1)))
-                            .max()
-                            .orElse(0);
-
-            long minGap =
-                    IntStream.range(0, dateList.size() - 1)
-                            .mapToLong(i -> ChronoUnit.DAYS.between(dateList.get(i), dateList.get(i + 1)))
-                            .min()
-                            .orElse(0);
-            // TODO also log amount of unwanted dates
-            s += person.getName() + ", shifts: " + dateList.size() + "/" + person.getIdealLoad() * PLANNING_MONTHS + ", min/max gaps: "
-                    + minGap + "/" + maxGap + " (ideal: " + Util.getExpectedGapDays(person) + ") " + ", dates: " + dateList + "\n";
         }
-        return s;
+        return pinned;
+    }
+
+    /**
+     * Only the size and score, the report of the schedule is written by {@code ScheduleReport}.
+     */
+    @Override
+    public String toString() {
+        // The lists are null while a snapshot or the solution cloner fills a new instance
+        return "LudoSchedule(" + (shifts == null ? 0 : shifts.size()) + " shifts, "
+                + (people == null ? 0 : people.size()) + " people, score " + score + ")";
     }
 }
@@ -5,26 +5,86 @@ import lombok.*;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.BitSet;
 import java.util.Objects;
 import java.util.Set;
 
 @Setter
 @Getter
-@Builder
 public class Person {
     @PlanningId
     private String name;
     private float idealLoad;
     private Set<LocalDate> availableDates;
-    @Builder.Default
-    private Set<DayOfWeek> unwantedDaysOfWeek = Set.of();
+    private Set<DayOfWeek> unwantedDaysOfWeek;
+
+    // Lookup structures for the constraints, derived from the sets above.
+    // Available dates as bits per epoch day, starting at firstAvailableDay
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long firstAvailableDay;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private BitSet availableDays;
+    // Bit per DayOfWeek ordinal (Monday = bit 0)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int unwantedDaysMask;
+
+    @Builder
+    public Person(String name, float idealLoad, Set<LocalDate> availableDates, Set<DayOfWeek> unwantedDaysOfWeek) {
+        this.name = name;
+        this.idealLoad = idealLoad;
+        setAvailableDates(availableDates == null ? Set.of() : availableDates);
+        setUnwantedDaysOfWeek(unwantedDaysOfWeek == null ? Set.of() : unwantedDaysOfWeek);
+    }
+
+    public void setAvailableDates(Set<LocalDate> availableDates) {
+        this.availableDates = availableDates;
+        if (availableDates instanceof DateSet dateSet) {
+            // Already in the right form
+            this.firstAvailableDay = dateSet.getFirstDay();
+            this.availableDays = dateSet.getDays();
+            return;
+        }
+        this.firstAvailableDay = availableDates.stream().mapToLong(LocalDate::toEpochDay).min().orElse(0);
+        this.availableDays = new BitSet();
+        for (LocalDate date : availableDates) {
+            availableDays.set((int) (date.toEpochDay() - firstAvailableDay));
+        }
+    }
+
+    public void setUnwantedDaysOfWeek(Set<DayOfWeek> unwantedDaysOfWeek) {
+        this.unwantedDaysOfWeek = unwantedDaysOfWeek;
+        this.unwantedDaysMask = 0;
+        for (DayOfWeek dayOfWeek : unwantedDaysOfWeek) {
+            unwantedDaysMask |= 1 << dayOfWeek.ordinal();
+        }
+    }
 
     public boolean isAvailable(LocalDate date) {
-        return availableDates.contains(date);
+        return isAvailableOnDay(date.toEpochDay());
+    }
+
+    public boolean isAvailable(Shift shift) {
+        return isAvailableOnDay(shift.getEpochDay());
+    }
+
+    private boolean isAvailableOnDay(long epochDay) {
+        long offset = epochDay - firstAvailableDay;
+        return offset >= 0 && offset < availableDays.length() && availableDays.get((int) offset);
     }
 
     public boolean isUnwantedDate(LocalDate date) {
-        return unwantedDaysOfWeek.contains(Util.getDayOfWeek(date));
+        return isUnwantedDayOfWeek(Util.getDayOfWeek(date));
+    }
+
+    public boolean isUnwantedDate(Shift shift) {
+        return isUnwantedDayOfWeek(shift.getDayOfWeek());
+    }
+
+    private boolean isUnwantedDayOfWeek(DayOfWeek dayOfWeek) {
+        return (unwantedDaysMask & (1 << dayOfWeek.ordinal())) != 0;
     }
 
     @Override
@@ -1,15 +1,19 @@
 package ch.kleemans.ludoplanung.domain;
 
 import ai.timefold.solver.core.api.domain.entity.PlanningEntity;
+import ai.timefold.solver.core.api.domain.entity.PlanningPin;
 import ai.timefold.solver.core.api.domain.lookup.PlanningId;
+import ai.timefold.solver.core.api.domain.valuerange.ValueRangeProvider;
 import ai.timefold.solver.core.api.domain.variable.PlanningVariable;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.WeekFields;
+import java.util.List;
 import java.util.Objects;
 
 @PlanningEntity
@@ -17,40 +21,63 @@ import java.util.Objects;
 @Setter
 @NoArgsConstructor
 public class Shift {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yy");
+
     @PlanningId
     private String id;
 
     private LocalDate date;
 
-    @PlanningVariable
+    // Derived from the date, so the constraints don't need to calculate them on every move
+    @Setter(AccessLevel.NONE)
+    private long epochDay;
+    @Setter(AccessLevel.NONE)
+    private DayOfWeek dayOfWeek;
+    @Setter(AccessLevel.NONE)
+    private int weekKey;
+
+    // Past and confirmed shifts, the solver doesn't change them
+    @PlanningPin
+    private boolean pinned;
+
+    // The people the solver tries for this shift, see LudoSchedule#availablePeopleFor(Shift)
+    @ValueRangeProvider(id = "availablePeople")
+    private List<Person> availablePeople = List.of();
+
+    @PlanningVariable(valueRangeProviderRefs = "availablePeople")
     private Person personA;
 
-    @PlanningVariable
+    @PlanningVariable(valueRangeProviderRefs = "availablePeople")
     private Person personB;
 
     public Shift(String date) {
         this.id = date;
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yy");
-        this.date = LocalDate.parse(date, formatter);
+        setDate(LocalDate.parse(date, DATE_FORMATTER));
     }
 
     public Shift(LocalDate date, Person personA, Person personB) {
         this.id = date.toString();
-        this.date = date;
+        setDate(date);
         this.personA = personA;
         this.personB = personB;
     }
 
     public Shift(String dateString, Person personA, Person personB) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yy");
         this.id = dateString;
-        this.date = LocalDate.parse(dateString, formatter);
+        setDate(LocalDate.parse(dateString, DATE_FORMATTER));
         this.personA = personA;
         this.personB = personB;
     }
 
+    public void setDate(LocalDate date) {
+        this.date = date;
+        this.epochDay = date.toEpochDay();
+        this.dayOfWeek = date.getDayOfWeek();
+        this.weekKey = Util.getWeekKey(date);
+    }
+
     public int getWeekNumber() {
-        return date.get(WeekFields.ISO.weekOfWeekBasedYear());
+        return weekKey % 100;
     }
 
     @Override
@@ -3,13 +3,23 @@ package ch.kleemans.ludoplanung.domain;
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.temporal.WeekFields;
 
 public class Util {
     private static final BigDecimal DAYS_PER_MONTH_APPROX = BigDecimal.valueOf(28);
 
     public static int getWeekNumber(LocalDate date) {
-        return date.get(WeekFields.ISO.weekOfWeekBasedYear());
+        return getWeekKey(date) % 100;
+    }
+
+    /**
+     * ISO week-based year and week as a single number, e.g. 202601 for week 1 of 2026. Unlike the week number alone,
+     * this is unique across New Year.
+     */
+    public static int getWeekKey(LocalDate date) {
+        // The ISO week belongs to the year of its Thursday, and counts from the first Thursday in that year
+        LocalDate thursday = date.plusDays(3 - date.getDayOfWeek().ordinal());
+        int week = (thursday.getDayOfYear() - 1) / 7 + 1;
+        return thursday.getYear() * 100 + week;
     }
 
     public static DayOfWeek getDayOfWeek(LocalDate date) {
@@ -34,6 +44,21 @@ public class Util {
         }
     }
 
+    /**
+     * Reverse of {@link #getDayOfWeek(String)}, e.g. "Di" for Tuesday.
+     */
+    public static String getShortString(DayOfWeek dayOfWeek) {
+        return switch (dayOfWeek) {
+            case MONDAY -> "Mo";
+            case TUESDAY -> "Di";
+            case WEDNESDAY -> "Mi";
+            case THURSDAY -> "Do";
+            case FRIDAY -> "Fr";
+            case SATURDAY -> "Sa";
+            case SUNDAY -> "So";
+        };
+    }
+
     public static double getExpectedGapDays(Person person) {
         return Math.round(DAYS_PER_MONTH_APPROX.doubleValue() / person.getIdealLoad() * 100) / 100.0;
     }
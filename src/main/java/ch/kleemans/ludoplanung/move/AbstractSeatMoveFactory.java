@@ -0,0 +1,96 @@
+package ch.kleemans.ludoplanung.move;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.selector.move.factory.MoveIteratorFactory;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Base of the custom moves. With random selection (the default of local search), a move is put together from random
+ * seats and people, which may fail, e.g. if the people aren't available on the other date. Then it is tried again a
+ * few times. In original order, the moves starting at each assigned seat are listed one seat after the other, leaving
+ * out the ones that can't be put together.
+ */
+abstract class AbstractSeatMoveFactory implements MoveIteratorFactory<LudoSchedule, SeatMove> {
+    private static final int ATTEMPTS = 20;
+
+    private SeatIndex seatIndex;
+
+    @Override
+    public void phaseStarted(ScoreDirector<LudoSchedule> scoreDirector) {
+        // Again for every phase, problem changes restart the phases
+        seatIndex = new SeatIndex(scoreDirector.getWorkingSolution());
+    }
+
+    @Override
+    public void phaseEnded(ScoreDirector<LudoSchedule> scoreDirector) {
+        seatIndex = null;
+    }
+
+    @Override
+    public long getSize(ScoreDirector<LudoSchedule> scoreDirector) {
+        return seatIndex == null ? 0 : seatIndex.getSeatCount();
+    }
+
+    @Override
+    public Iterator<SeatMove> createOriginalMoveIterator(ScoreDirector<LudoSchedule> scoreDirector) {
+        return createOriginalMoveIterator(seatIndex);
+    }
+
+    Iterator<SeatMove> createOriginalMoveIterator(SeatIndex index) {
+        // Lazy, the people are read from the seats when the moves are created
+        return index.getSeats().stream()
+                .filter(seat -> seat.person() != null)
+                .flatMap(seat -> createMoves(index, seat))
+                .iterator();
+    }
+
+    @Override
+    public Iterator<SeatMove> createRandomMoveIterator(ScoreDirector<LudoSchedule> scoreDirector, Random random) {
+        SeatIndex index = seatIndex;
+        return new Iterator<>() {
+            private SeatMove next;
+
+            @Override
+            public boolean hasNext() {
+                for (int i = 0; next == null && i < ATTEMPTS; i++) {
+                    next = createMove(index, random);
+                }
+                return next != null;
+            }
+
+            @Override
+            public SeatMove next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SeatMove move = next;
+                next = null;
+                return move;
+            }
+        };
+    }
+
+    /**
+     * @return a random move, or null if the random choice didn't work out
+     */
+    protected abstract SeatMove createMove(SeatIndex index, Random random);
+
+    /**
+     * @param seat with somebody in it
+     * @return all moves that start at the seat, in a fixed order
+     */
+    protected abstract Stream<SeatMove> createMoves(SeatIndex index, Seat seat);
+
+    /**
+     * Whether the person can take the seat: available on its date, and not already in the other seat.
+     */
+    static boolean canTake(Seat seat, Person person) {
+        return person.isAvailable(seat.shift()) && !person.equals(seat.otherPerson());
+    }
+}
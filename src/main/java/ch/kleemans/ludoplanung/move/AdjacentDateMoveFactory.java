@@ -0,0 +1,53 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Moves a person to their previous or next available date. Somebody of that shift takes their place, so it's a swap
+ * with a close date, to fine-tune the distribution over the season.
+ */
+public class AdjacentDateMoveFactory extends AbstractSeatMoveFactory {
+
+    @Override
+    protected SeatMove createMove(SeatIndex index, Random random) {
+        Seat seat = index.randomAssignedSeat(random);
+        if (seat == null) {
+            return null;
+        }
+        Shift adjacentShift = index.adjacentAvailableShift(seat.person(), seat.shift(), random.nextBoolean());
+        if (adjacentShift == null) {
+            return null;
+        }
+        Seat otherSeat = SeatIndex.randomSeat(adjacentShift, random);
+        return otherSeat == null ? null : swap(seat, otherSeat);
+    }
+
+    @Override
+    protected Stream<SeatMove> createMoves(SeatIndex index, Seat seat) {
+        // The previous date first, then the next one
+        return Stream.of(false, true)
+                .map(later -> index.adjacentAvailableShift(seat.person(), seat.shift(), later))
+                .filter(Objects::nonNull)
+                .flatMap(SeatIndex::seats)
+                .map(otherSeat -> swap(seat, otherSeat))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * @return null if the people can't swap
+     */
+    private static SeatMove swap(Seat seat, Seat otherSeat) {
+        Person person = seat.person();
+        Person otherPerson = otherSeat.person();
+        if (otherPerson == null || person.equals(otherPerson) || !canTake(otherSeat, person) || !canTake(seat, otherPerson)) {
+            return null;
+        }
+        return new SeatMove("AdjacentDate", List.of(seat, otherSeat), List.of(otherPerson, person));
+    }
+}
@@ -0,0 +1,58 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.Person;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Three people rotate their shifts: the first takes the shift of the second, the second the one of the third, and the
+ * third the one of the first. Finds improvements where no swap of two people works, e.g. because they are not
+ * available on each other's dates.
+ */
+public class ChainRotateMoveFactory extends AbstractSeatMoveFactory {
+
+    @Override
+    protected SeatMove createMove(SeatIndex index, Random random) {
+        Seat first = index.randomAssignedSeat(random);
+        if (first == null) {
+            return null;
+        }
+        Seat second = index.randomAvailableSeat(first.person(), random);
+        if (second == null) {
+            return null;
+        }
+        Seat third = index.randomAvailableSeat(second.person(), random);
+        return third == null ? null : rotate(first, second, third);
+    }
+
+    @Override
+    protected Stream<SeatMove> createMoves(SeatIndex index, Seat first) {
+        return index.availableSeats(first.person())
+                .filter(second -> second.person() != null)
+                .flatMap(second -> index.availableSeats(second.person()).map(third -> rotate(first, second, third)))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * @return null if the people can't rotate
+     */
+    private static SeatMove rotate(Seat first, Seat second, Seat third) {
+        if (first.shift() == second.shift() || second.shift() == third.shift() || first.shift() == third.shift()) {
+            return null;
+        }
+        Person firstPerson = first.person();
+        Person secondPerson = second.person();
+        Person thirdPerson = third.person();
+        if (secondPerson == null || thirdPerson == null) {
+            return null;
+        }
+        if (firstPerson.equals(secondPerson) || secondPerson.equals(thirdPerson) || firstPerson.equals(thirdPerson)
+                || !canTake(second, firstPerson) || !canTake(third, secondPerson) || !canTake(first, thirdPerson)) {
+            return null;
+        }
+        return new SeatMove("ChainRotate", List.of(first, second, third), List.of(thirdPerson, firstPerson, secondPerson));
+    }
+}
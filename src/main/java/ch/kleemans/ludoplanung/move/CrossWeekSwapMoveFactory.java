@@ -0,0 +1,48 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.Person;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Two people swap their shifts, which are in different weeks. Both must be available on the other date.
+ */
+public class CrossWeekSwapMoveFactory extends AbstractSeatMoveFactory {
+
+    @Override
+    protected SeatMove createMove(SeatIndex index, Random random) {
+        Seat seat = index.randomAssignedSeat(random);
+        if (seat == null) {
+            return null;
+        }
+        Seat otherSeat = index.randomAvailableSeat(seat.person(), random);
+        return otherSeat == null ? null : swap(seat, otherSeat);
+    }
+
+    @Override
+    protected Stream<SeatMove> createMoves(SeatIndex index, Seat seat) {
+        // Each pair once, from the seat with the earlier date
+        return index.availableSeats(seat.person())
+                .filter(otherSeat -> otherSeat.shift().getEpochDay() > seat.shift().getEpochDay())
+                .map(otherSeat -> swap(seat, otherSeat))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * @return null if the people can't swap
+     */
+    private static SeatMove swap(Seat seat, Seat otherSeat) {
+        if (otherSeat.shift().getWeekKey() == seat.shift().getWeekKey()) {
+            return null;
+        }
+        Person person = seat.person();
+        Person otherPerson = otherSeat.person();
+        if (otherPerson == null || person.equals(otherPerson) || !canTake(otherSeat, person) || !canTake(seat, otherPerson)) {
+            return null;
+        }
+        return new SeatMove("CrossWeekSwap", List.of(seat, otherSeat), List.of(otherPerson, person));
+    }
+}
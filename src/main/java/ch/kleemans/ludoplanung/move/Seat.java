@@ -0,0 +1,38 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+/**
+ * Seat A or B of a shift.
+ */
+public record Seat(Shift shift, boolean seatA) {
+
+    public Person person() {
+        return seatA ? shift.getPersonA() : shift.getPersonB();
+    }
+
+    /**
+     * The person in the other seat of the same shift.
+     */
+    public Person otherPerson() {
+        return seatA ? shift.getPersonB() : shift.getPersonA();
+    }
+
+    public String variableName() {
+        return seatA ? "personA" : "personB";
+    }
+
+    void assign(Person person) {
+        if (seatA) {
+            shift.setPersonA(person);
+        } else {
+            shift.setPersonB(person);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return shift.getId() + (seatA ? "/A" : "/B");
+    }
+}
@@ -0,0 +1,107 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * The seats the moves may change, and per person the shifts they are available on, so the moves only pick people
+ * who can come. Only depends on the problem facts, the assignments are read from the shifts when a move is created.
+ */
+final class SeatIndex {
+    private static final Comparator<Shift> BY_DATE = Comparator.comparingLong(Shift::getEpochDay).thenComparing(Shift::getId);
+
+    private final List<Seat> seats = new ArrayList<>();
+    // Ordered by date
+    private final Map<Person, List<Shift>> availableShifts = new HashMap<>();
+
+    SeatIndex(LudoSchedule schedule) {
+        List<Shift> shifts = schedule.getShifts().stream()
+                .filter(shift -> !shift.isPinned())
+                .sorted(BY_DATE)
+                .toList();
+        for (Shift shift : shifts) {
+            seats.add(new Seat(shift, true));
+            seats.add(new Seat(shift, false));
+        }
+        for (Person person : schedule.getPeople()) {
+            availableShifts.put(person, shifts.stream().filter(person::isAvailable).toList());
+        }
+    }
+
+    int getSeatCount() {
+        return seats.size();
+    }
+
+    /**
+     * Both seats of every shift the solver may change, by date.
+     */
+    List<Seat> getSeats() {
+        return seats;
+    }
+
+    /**
+     * A random seat with somebody in it, or null.
+     */
+    Seat randomAssignedSeat(Random random) {
+        if (seats.isEmpty()) {
+            return null;
+        }
+        Seat seat = seats.get(random.nextInt(seats.size()));
+        return seat.person() == null ? null : seat;
+    }
+
+    /**
+     * The shifts the person is available on and the solver may change, by date.
+     */
+    List<Shift> availableShifts(Person person) {
+        return availableShifts.getOrDefault(person, List.of());
+    }
+
+    /**
+     * The next shift after (or before) the given one the person is available on, or null.
+     */
+    Shift adjacentAvailableShift(Person person, Shift shift, boolean later) {
+        List<Shift> shifts = availableShifts(person);
+        int position = Collections.binarySearch(shifts, shift, BY_DATE);
+        int adjacent;
+        if (position >= 0) {
+            adjacent = later ? position + 1 : position - 1;
+        } else {
+            // Not available on the shift itself, e.g. before the availability constraint is met
+            int insertion = -position - 1;
+            adjacent = later ? insertion : insertion - 1;
+        }
+        return adjacent >= 0 && adjacent < shifts.size() ? shifts.get(adjacent) : null;
+    }
+
+    /**
+     * A random seat of a random shift the person is available on, or null.
+     */
+    Seat randomAvailableSeat(Person person, Random random) {
+        List<Shift> shifts = availableShifts(person);
+        if (shifts.isEmpty()) {
+            return null;
+        }
+        return randomSeat(shifts.get(random.nextInt(shifts.size())), random);
+    }
+
+    /**
+     * Both seats of every shift the person is available on and the solver may change, by date.
+     */
+    Stream<Seat> availableSeats(Person person) {
+        return availableShifts(person).stream().flatMap(SeatIndex::seats);
+    }
+
+    static Stream<Seat> seats(Shift shift) {
+        return Stream.of(new Seat(shift, true), new Seat(shift, false));
+    }
+
+    static Seat randomSeat(Shift shift, Random random) {
+        Seat seat = new Seat(shift, random.nextBoolean());
+        return seat.person() == null ? null : seat;
+    }
+}
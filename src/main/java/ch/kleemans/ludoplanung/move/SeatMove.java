@@ -0,0 +1,107 @@
+package ch.kleemans.ludoplanung.move;
+
+import ai.timefold.solver.core.api.score.director.ScoreDirector;
+import ai.timefold.solver.core.impl.heuristic.move.AbstractMove;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Puts other people into several seats at once, e.g. two people swapping their shifts. The seats are in different
+ * shifts, so the other seat of a shift never changes with it.
+ */
+public class SeatMove extends AbstractMove<LudoSchedule> {
+    private final String type;
+    private final List<Seat> seats;
+    private final List<Person> people;
+
+    /**
+     * @param people the new person per seat
+     */
+    public SeatMove(String type, List<Seat> seats, List<Person> people) {
+        this.type = type;
+        this.seats = seats;
+        this.people = people;
+    }
+
+    @Override
+    public boolean isMoveDoable(ScoreDirector<LudoSchedule> scoreDirector) {
+        boolean changes = false;
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            Person person = people.get(i);
+            if (seat.shift().isPinned() || person.equals(seat.otherPerson())) {
+                return false;
+            }
+            changes |= !person.equals(seat.person());
+        }
+        return changes;
+    }
+
+    @Override
+    protected void doMoveOnGenuineVariables(ScoreDirector<LudoSchedule> scoreDirector) {
+        for (int i = 0; i < seats.size(); i++) {
+            Seat seat = seats.get(i);
+            scoreDirector.beforeVariableChanged(seat.shift(), seat.variableName());
+            seat.assign(people.get(i));
+            scoreDirector.afterVariableChanged(seat.shift(), seat.variableName());
+        }
+    }
+
+    @Override
+    public SeatMove rebase(ScoreDirector<LudoSchedule> destinationScoreDirector) {
+        List<Seat> rebasedSeats = new ArrayList<>(seats.size());
+        for (Seat seat : seats) {
+            rebasedSeats.add(new Seat(destinationScoreDirector.lookUpWorkingObject(seat.shift()), seat.seatA()));
+        }
+        return new SeatMove(type, rebasedSeats, rebaseList(people, destinationScoreDirector));
+    }
+
+    @Override
+    public String getSimpleMoveTypeDescription() {
+        return type;
+    }
+
+    @Override
+    public Collection<Shift> getPlanningEntities() {
+        return seats.stream().map(Seat::shift).toList();
+    }
+
+    @Override
+    public Collection<Person> getPlanningValues() {
+        return people;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SeatMove seatMove)) {
+            return false;
+        }
+        return type.equals(seatMove.type) && seats.equals(seatMove.seats) && people.equals(seatMove.people);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, seats, people);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(type).append(' ');
+        for (int i = 0; i < seats.size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(seats.get(i)).append(' ').append(seats.get(i).person()).append(" -> ").append(people.get(i));
+        }
+        return builder.toString();
+    }
+}
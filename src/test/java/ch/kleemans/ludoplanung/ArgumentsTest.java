@@ -0,0 +1,41 @@
+package ch.kleemans.ludoplanung;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArgumentsTest {
+
+    @Test
+    void valuesAndFlags() {
+        var arguments = new Arguments(new String[]{"--move-threads=4", "--resume"});
+
+        assertThat(arguments.getString("move-threads", "NONE")).isEqualTo("4");
+        assertThat(arguments.getInt("move-threads", 1)).isEqualTo(4);
+        assertThat(arguments.has("resume")).isTrue();
+        assertThat(arguments.getLong("seed", 7)).isEqualTo(7);
+    }
+
+    @Test
+    void configFile_commandLineWins(@TempDir Path directory) throws IOException {
+        Path config = directory.resolve("ludo.properties");
+        Files.writeString(config, "move-threads=AUTO\nseed=3\n");
+
+        var arguments = new Arguments(new String[]{"--config=" + config, "--seed=5"});
+
+        assertThat(arguments.getString("move-threads", "NONE")).isEqualTo("AUTO");
+        assertThat(arguments.getLong("seed", 0)).isEqualTo(5);
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> new Arguments(new String[]{"seed=5"})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Arguments(new String[]{"--seed=five"}).getLong("seed", 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,57 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ch.kleemans.ludoplanung.data.ScheduleSnapshot;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CheckpointerTest {
+
+    @TempDir
+    Path directory;
+
+    private static LudoSchedule solution(long softScore) {
+        LudoSchedule schedule = SeasonGenerator.builder().people(5).shifts(10).build().generate();
+        schedule.setScore(HardSoftLongScore.of(0, softScore));
+        return schedule;
+    }
+
+    @Test
+    void writesLatestOnClose() throws IOException {
+        Path file = directory.resolve("checkpoint.ludo");
+        try (Checkpointer checkpointer = new Checkpointer(file, Duration.ofHours(1))) {
+            for (int i = 0; i < 100; i++) {
+                checkpointer.accept(solution(-1000 + i));
+            }
+        }
+
+        assertThat(ScheduleSnapshot.read(file).getScore()).isEqualTo(HardSoftLongScore.of(0, -901));
+    }
+
+    @Test
+    void ignoresWorseSolutions() throws IOException {
+        Path file = directory.resolve("checkpoint.ludo");
+        try (Checkpointer checkpointer = new Checkpointer(file, Duration.ofHours(1))) {
+            checkpointer.accept(solution(-10));
+            checkpointer.accept(solution(-20));
+        }
+
+        assertThat(ScheduleSnapshot.read(file).getScore()).isEqualTo(HardSoftLongScore.of(0, -10));
+    }
+
+    @Test
+    void nothingToWrite() {
+        Path file = directory.resolve("checkpoint.ludo");
+        new Checkpointer(file, Duration.ofSeconds(1)).close();
+
+        assertThat(file).doesNotExist();
+    }
+}
@@ -0,0 +1,50 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.domain.solution.ConstraintWeightOverrides;
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConstraintTimerTest {
+    private static final SolverFactory<LudoSchedule> SOLVER_FACTORY =
+            SolverFactory.create(LudoApp.createSolverConfig(new Arguments(new String[0])));
+
+    @Test
+    void onlyConstraint() {
+        ConstraintWeightOverrides<HardSoftLongScore> overrides =
+                ConstraintTimer.onlyConstraint(SOLVER_FACTORY, "No person twice in same week");
+
+        assertThat(overrides.getKnownConstraintNames()).hasSize(6).doesNotContain("No person twice in same week");
+        assertThat(overrides.getConstraintWeight("Ideal monthly load per person")).isEqualTo(HardSoftLongScore.ZERO);
+        assertThatThrownBy(() -> ConstraintTimer.onlyConstraint(SOLVER_FACTORY, "Unknown"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void measure() {
+        LudoSchedule schedule = SeasonGenerator.builder().people(10).shifts(20).seed(1).build().generate();
+        Random random = new Random(0);
+        schedule.getShifts().forEach(shift -> {
+            shift.setPersonA(schedule.getPeople().get(random.nextInt(10)));
+            shift.setPersonB(schedule.getPeople().get(random.nextInt(10)));
+        });
+
+        var overrides = schedule.getConstraintWeightOverrides();
+
+        var times = new ConstraintTimer(Duration.ofMillis(10), Duration.ofMillis(20), 0).measure(schedule);
+
+        assertThat(times).hasSize(8);
+        assertThat(times.get(0).constraintName()).isEqualTo(ConstraintTimer.ALL);
+        assertThat(times).allMatch(time -> time.moveCount() > 0 && time.nanosPerMove() > 0);
+        // Left as it was
+        assertThat(schedule.getConstraintWeightOverrides()).isSameAs(overrides);
+    }
+}
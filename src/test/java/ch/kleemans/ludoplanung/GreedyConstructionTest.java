@@ -0,0 +1,81 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.phase.custom.CustomPhaseConfig;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreedyConstructionTest {
+    // Tuesday and Friday of the same week, and Tuesday of the next week
+    private static final LocalDate TUESDAY = LocalDate.of(2026, 2, 10);
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 2, 13);
+    private static final LocalDate NEXT_TUESDAY = LocalDate.of(2026, 2, 17);
+
+    private final Person alice = person("Alice", Set.of(TUESDAY, FRIDAY, NEXT_TUESDAY));
+    private final Person bob = person("Bob", Set.of(TUESDAY, NEXT_TUESDAY));
+    private final Person carol = person("Carol", Set.of(FRIDAY));
+    private final Person dave = person("Dave", Set.of(TUESDAY, NEXT_TUESDAY));
+
+    private static Person person(String name, Set<LocalDate> dates) {
+        return Person.builder().name(name).idealLoad(1).availableDates(dates).build();
+    }
+
+    private static LudoSchedule construct(LudoSchedule schedule) {
+        SolverConfig solverConfig = new SolverConfig()
+                .withSolutionClass(LudoSchedule.class)
+                .withEntityClasses(Shift.class)
+                .withConstraintProviderClass(LudoConstraintProvider.class)
+                .withPhases(new CustomPhaseConfig().withCustomPhaseCommandClassList(List.of(GreedyConstruction.class)));
+        return SolverFactory.<LudoSchedule>create(solverConfig).buildSolver().solve(schedule);
+    }
+
+    private static Shift shift(LudoSchedule schedule, LocalDate date) {
+        return schedule.getShifts().stream().filter(shift -> shift.getDate().equals(date)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void construct() {
+        var schedule = construct(new LudoSchedule(
+                new ArrayList<>(List.of(new Shift(TUESDAY, null, null), new Shift(FRIDAY, null, null),
+                        new Shift(NEXT_TUESDAY, null, null))),
+                new ArrayList<>(List.of(alice, bob, carol, dave))));
+
+        // Only Alice and Carol can come on Friday, so it's filled first
+        assertThat(List.of(shift(schedule, FRIDAY).getPersonA(), shift(schedule, FRIDAY).getPersonB()))
+                .containsExactlyInAnyOrder(alice, carol);
+        // Alice already has a shift that week
+        assertThat(List.of(shift(schedule, TUESDAY).getPersonA(), shift(schedule, TUESDAY).getPersonB()))
+                .containsExactlyInAnyOrder(bob, dave);
+        assertThat(schedule.getShifts()).allSatisfy(shift -> {
+            assertThat(shift.getPersonA()).isNotNull();
+            assertThat(shift.getPersonB()).isNotNull().isNotEqualTo(shift.getPersonA());
+        });
+        assertThat(schedule.getScore().hardScore()).isZero();
+    }
+
+    @Test
+    void construct_keepsAssignedAndPinned() {
+        var pinned = new Shift(TUESDAY, alice, bob);
+        pinned.setPinned(true);
+        var halfAssigned = new Shift(NEXT_TUESDAY, dave, null);
+        var schedule = construct(new LudoSchedule(
+                new ArrayList<>(List.of(pinned, new Shift(FRIDAY, null, null), halfAssigned)),
+                new ArrayList<>(List.of(alice, bob, carol, dave))));
+
+        assertThat(shift(schedule, TUESDAY).getPersonA()).isEqualTo(alice);
+        assertThat(shift(schedule, TUESDAY).getPersonB()).isEqualTo(bob);
+        assertThat(shift(schedule, NEXT_TUESDAY).getPersonA()).isEqualTo(dave);
+        // Bob has fewer shifts than Alice
+        assertThat(shift(schedule, NEXT_TUESDAY).getPersonB()).isEqualTo(bob);
+    }
+}
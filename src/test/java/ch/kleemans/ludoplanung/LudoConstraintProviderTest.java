@@ -1,16 +1,20 @@
 package ch.kleemans.ludoplanung;
 
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.score.stream.Constraint;
+import ai.timefold.solver.core.api.score.stream.ConstraintFactory;
+import ai.timefold.solver.core.api.score.stream.Joiners;
 import ai.timefold.solver.test.api.score.stream.ConstraintVerifier;
 import ch.kleemans.ludoplanung.domain.LudoSchedule;
 import ch.kleemans.ludoplanung.domain.Person;
 import ch.kleemans.ludoplanung.domain.Shift;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -73,6 +77,80 @@ class LudoConstraintProviderTest {
                 .penalizesBy(2);
     }
 
+    @Test
+    void noPersonTwiceInSameWeek_acrossNewYear() {
+        // Same ISO week (2026-W01), but different years
+        LocalDate date1 = LocalDate.of(2025, 12, 30);
+        LocalDate date2 = LocalDate.of(2026, 1, 2);
+        // Also week 1, but one year later
+        LocalDate date3 = LocalDate.of(2027, 1, 5);
+
+        Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+        Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+        Person carl = Person.builder().name("Carl").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+
+        constraintVerifier.verifyThat(LudoConstraintProvider::noPersonTwiceInSameWeek)
+                .given(new Shift(date1, alice, bob), new Shift(date2, alice, carl))
+                .penalizesBy(1);
+        constraintVerifier.verifyThat(LudoConstraintProvider::noPersonTwiceInSameWeek)
+                .given(new Shift(date2, alice, bob), new Shift(date3, alice, carl))
+                .penalizesBy(0);
+    }
+
+    @Test
+    void noPersonTwiceInSameWeek_sameAsCrossJoin() {
+        LocalDate date1 = LocalDate.of(2026, 2, 10);
+        LocalDate date2 = LocalDate.of(2026, 2, 13);
+        LocalDate date3 = LocalDate.of(2026, 2, 17); // next week
+
+        Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+        Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+        Person carl = Person.builder().name("Carl").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+        Person doug = Person.builder().name("Doug").idealLoad(1).availableDates(Set.of(date1, date2, date3)).build();
+
+        List<Object[]> givenAndExpected = List.of(
+                // Alice twice
+                new Object[]{new Shift(date1, alice, bob), new Shift(date2, alice, carl), 1},
+                // Alice and Bob twice
+                new Object[]{new Shift(date1, alice, bob), new Shift(date2, alice, carl), new Shift(date2, bob, doug), 2},
+                // Both persons in both shifts, swapped seats
+                new Object[]{new Shift(date1, alice, bob), new Shift(date2, bob, alice), 1},
+                // Alice twice, but in different weeks
+                new Object[]{new Shift(date1, alice, bob), new Shift(date3, alice, carl), 0}
+        );
+
+        for (Object[] testCase : givenAndExpected) {
+            Object[] shifts = Arrays.copyOf(testCase, testCase.length - 1);
+            int expectedPenalty = (int) testCase[testCase.length - 1];
+
+            constraintVerifier.verifyThat(LudoConstraintProvider::noPersonTwiceInSameWeek)
+                    .given(shifts)
+                    .penalizesBy(expectedPenalty);
+            constraintVerifier.verifyThat((provider, factory) -> crossJoinNoPersonTwiceInSameWeek(factory))
+                    .given(shifts)
+                    .penalizesBy(expectedPenalty);
+        }
+    }
+
+    /**
+     * Former formulation of {@link LudoConstraintProvider#noPersonTwiceInSameWeek}, comparing all pairs of shifts.
+     */
+    private static Constraint crossJoinNoPersonTwiceInSameWeek(ConstraintFactory constraintFactory) {
+        return constraintFactory.forEach(Shift.class)
+                .join(Shift.class, Joiners.lessThan(Shift::getId))
+                .filter((s1, s2) -> {
+                    boolean samePerson =
+                            Objects.equals(s1.getPersonA(), s2.getPersonA()) ||
+                                    Objects.equals(s1.getPersonA(), s2.getPersonB()) ||
+                                    Objects.equals(s1.getPersonB(), s2.getPersonA()) ||
+                                    Objects.equals(s1.getPersonB(), s2.getPersonB());
+                    boolean sameWeek = s1.getWeekNumber() == s2.getWeekNumber();
+                    return samePerson && sameWeek;
+                })
+                .penalize(HardSoftLongScore.ONE_HARD)
+                .asConstraint("No person twice in same week (cross join)");
+    }
+
     @Test
     void personOnlyWhenAvailable() {
         LocalDate allowed = LocalDate.of(2026, 2, 10);
@@ -136,7 +214,7 @@ class LudoConstraintProviderTest {
 
         constraintVerifier.verifyThat(LudoConstraintProvider::idealMonthlyLoad)
                 .given(Stream.concat(Stream.of(alice), shifts.stream()).toArray())
-                .penalizesBy(4); // |7 - 5|^2 = 4
+                .penalizesBy(4 * LudoConstraintProvider.SOFT_SCALE); // |7 - 5|^2 = 4
     }
 
     @Test
@@ -151,7 +229,7 @@ class LudoConstraintProviderTest {
 
         constraintVerifier.verifyThat(LudoConstraintProvider::idealMonthlyLoad)
                 .given(Stream.concat(Stream.of(alice, bob), shifts.stream()).toArray())
-                .penalizesBy(2); // |6 - 5| * 2 = 2
+                .penalizesBy(2 * LudoConstraintProvider.SOFT_SCALE); // |6 - 5| * 2 = 2
     }
 
     @Test
@@ -165,8 +243,8 @@ class LudoConstraintProviderTest {
 
         constraintVerifier.verifyThat(LudoConstraintProvider::wellDistributedShifts)
                 .given(alice, s1, s2)
-                // 21 days deviation total -> 3 weeks
-                .penalizesBy(BigDecimal.valueOf(3));
+                // 21 days deviation, 21^1.5 ≈ 96.23 days -> 13.75 weeks
+                .penalizesBy(1375);
     }
 
     @Test
@@ -179,7 +257,7 @@ class LudoConstraintProviderTest {
 
         constraintVerifier.verifyThat(LudoConstraintProvider::wellDistributedShifts)
                 .given(alice, s1, s2)
-                .penalizesBy(BigDecimal.ZERO);
+                .penalizesBy(0);
     }
 
     @Test
@@ -191,12 +269,10 @@ class LudoConstraintProviderTest {
         Shift s2 = new Shift("14.01.26", alice, bob);
         Shift s3 = new Shift("29.01.26", alice, bob);
 
-        // total deviation days = |13-14| + |15-14| = 2 -> 2/7 ≈ 0.29
-        // You can either assert exact value (if you round in helper),
-        // or just check it's between 0 and 1:
+        // only gaps shorter than expected count: (14-13)^1.5 = 1 day -> 1/7 ≈ 0.14 weeks
         constraintVerifier.verifyThat(LudoConstraintProvider::wellDistributedShifts)
                 .given(alice, s1, s2, s3)
-                .penalizesBy(BigDecimal.valueOf(0.2857).setScale(2, RoundingMode.HALF_UP));
+                .penalizesBy(14);
     }
 
 }
@@ -0,0 +1,53 @@
+package ch.kleemans.ludoplanung;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersonChangeTest {
+    private static final LocalDate DATE_1 = LocalDate.of(2026, 2, 10);
+    private static final LocalDate DATE_2 = LocalDate.of(2026, 2, 13);
+
+    private static Person person(String name, float idealLoad, Set<LocalDate> dates, Set<DayOfWeek> unwantedDays) {
+        return Person.builder().name(name).idealLoad(idealLoad).availableDates(dates).unwantedDaysOfWeek(unwantedDays).build();
+    }
+
+    private final LudoSchedule published = new LudoSchedule(
+            new ArrayList<>(List.of(new Shift(DATE_1, null, null), new Shift(DATE_2, null, null))),
+            new ArrayList<>(List.of(
+                    person("Alice", 1, Set.of(DATE_1, DATE_2), Set.of()),
+                    person("Bob", 1, Set.of(DATE_1), Set.of()),
+                    person("Carol", 2, Set.of(DATE_2), Set.of(DayOfWeek.FRIDAY)))));
+
+    @Test
+    void between_unchanged() {
+        var people = List.of(
+                person("Alice", 1, Set.of(DATE_1, DATE_2), Set.of()),
+                person("Bob", 1, Set.of(DATE_1), Set.of()),
+                person("Carol", 2, Set.of(DATE_2), Set.of(DayOfWeek.FRIDAY)));
+
+        assertThat(PersonChange.between(published, people)).isEmpty();
+    }
+
+    @Test
+    void between() {
+        Person alice = person("Alice", 1, Set.of(DATE_1), Set.of());
+        Person carol = person("Carol", 1, Set.of(DATE_2), Set.of(DayOfWeek.FRIDAY));
+        Person dave = person("Dave", 1, Set.of(DATE_2), Set.of());
+
+        assertThat(PersonChange.between(published, List.of(alice, carol, dave))).containsExactly(
+                new PersonChange.Updated(alice),
+                new PersonChange.Updated(carol),
+                new PersonChange.Added(dave),
+                new PersonChange.Removed("Bob"));
+    }
+}
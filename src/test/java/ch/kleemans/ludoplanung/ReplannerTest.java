@@ -0,0 +1,61 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("slowly")
+class ReplannerTest {
+
+    @Test
+    void removedPerson() throws InterruptedException {
+        SeasonGenerator generator = SeasonGenerator.builder().people(40).shifts(66).seed(1).build();
+        var solverConfig = LudoApp.createSolverConfig(new Arguments(new String[0]));
+        LudoSchedule published = SolverFactory.<LudoSchedule>create(solverConfig.copyConfig()
+                .withTerminationSpentLimit(Duration.ofSeconds(5))).buildSolver().solve(generator.generate());
+        LocalDate today = published.getShifts().get(20).getDate();
+        Shift confirmed = published.getShifts().get(24);
+        confirmed.setPinned(true);
+        String removed = published.getShifts().get(30).getPersonA().getName();
+
+        List<Person> people = new ArrayList<>(generator.generate().getPeople());
+        people.removeIf(person -> person.getName().equals(removed));
+        Replanner replanner = new Replanner(solverConfig, today, 14, Duration.ofSeconds(1));
+        replanner.start(published);
+        replanner.apply(PersonChange.between(published, people));
+        replanner.awaitSettled();
+        LudoSchedule solution = replanner.stop();
+
+        assertThat(solution.getScore().hardScore()).isZero();
+        for (int i = 0; i < published.getShifts().size(); i++) {
+            Shift before = published.getShifts().get(i);
+            Shift after = solution.getShifts().get(i);
+            if (before.getDate().isBefore(today)) {
+                // The past stays as it was
+                assertThat(after.getPersonA()).isEqualTo(before.getPersonA());
+                assertThat(after.getPersonB()).isEqualTo(before.getPersonB());
+                assertThat(after.isPinned()).isTrue();
+            } else {
+                assertThat(after.getPersonA().getName()).isNotEqualTo(removed);
+                assertThat(after.getPersonB().getName()).isNotEqualTo(removed);
+            }
+        }
+        if (!removed.equals(confirmed.getPersonA().getName()) && !removed.equals(confirmed.getPersonB().getName())) {
+            Shift confirmedAfter = solution.getShifts().get(24);
+            assertThat(confirmedAfter.getPersonA()).isEqualTo(confirmed.getPersonA());
+            assertThat(confirmedAfter.getPersonB()).isEqualTo(confirmed.getPersonB());
+            assertThat(confirmedAfter.isPinned()).isTrue();
+        }
+    }
+}
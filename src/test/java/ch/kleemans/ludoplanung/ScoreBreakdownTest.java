@@ -0,0 +1,61 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreBreakdownTest {
+    private static final SolutionManager<LudoSchedule, HardSoftLongScore> SOLUTION_MANAGER =
+            SolutionManager.create(SolverFactory.create(LudoApp.createSolverConfig(new Arguments(new String[0]))));
+
+    @Test
+    void perConstraintAndPerson() {
+        LocalDate tuesday = LocalDate.of(2026, 2, 10);
+        LocalDate friday = LocalDate.of(2026, 2, 13);
+        LocalDate saturday = LocalDate.of(2026, 2, 21);
+        Person alice = Person.builder().name("Alice").idealLoad(0.6f).availableDates(Set.of(tuesday, friday, saturday))
+                .unwantedDaysOfWeek(Set.of(DayOfWeek.SATURDAY)).build();
+        Person bob = Person.builder().name("Bob").idealLoad(0.2f).availableDates(Set.of(tuesday)).build();
+        Person carol = Person.builder().name("Carol").idealLoad(0.4f).availableDates(Set.of(friday)).build();
+        Person dave = Person.builder().name("Dave").idealLoad(0.2f).availableDates(Set.of(saturday)).build();
+        // Alice twice in the same week and on an unwanted day, Carol not available on Saturday, Dave without a shift
+        var schedule = new LudoSchedule(new ArrayList<>(List.of(
+                new Shift(tuesday, alice, bob),
+                new Shift(friday, carol, alice),
+                new Shift(saturday, alice, carol))),
+                new ArrayList<>(List.of(alice, bob, carol, dave)));
+
+        var breakdown = ScoreBreakdown.of(SOLUTION_MANAGER, schedule);
+
+        assertThat(breakdown.getScore().hardScore()).isEqualTo(-3);
+        // Every constraint, worst first
+        assertThat(breakdown.getConstraintImpacts()).hasSize(7);
+        assertThat(breakdown.getConstraintImpacts().get(0).score()).isEqualTo(HardSoftLongScore.ofHard(-1));
+        assertThat(breakdown.getConstraintImpacts().get(6).score()).isEqualTo(HardSoftLongScore.ZERO);
+
+        // Bob has exactly his ideal load
+        assertThat(breakdown.getPersonImpacts()).extracting(impact -> impact.person().getName())
+                .containsExactly("Alice", "Carol", "Dave");
+        var alices = breakdown.getPersonImpacts().get(0);
+        assertThat(alices.scoreByConstraint()).containsOnlyKeys("No person twice in same week",
+                "Person should not work on unwanted day of week if possible",
+                "Shifts should be well distributed according to ideal load");
+        assertThat(alices.scoreByConstraint().get("No person twice in same week")).isEqualTo(HardSoftLongScore.ofHard(-1));
+        assertThat(breakdown.getPersonImpacts().get(1).scoreByConstraint())
+                .containsEntry("Person must be available on shift date", HardSoftLongScore.ofHard(-1));
+        assertThat(breakdown.getPersonImpacts().get(2).scoreByConstraint())
+                .containsOnlyKeys("Each person must have at least one shift");
+    }
+}
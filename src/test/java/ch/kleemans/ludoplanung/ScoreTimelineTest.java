@@ -0,0 +1,51 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreTimelineTest {
+
+    @Test
+    void reached() {
+        ScoreTimeline timeline = new ScoreTimeline();
+        timeline.add(new ScoreTimeline.Point(0, 10, HardSoftLongScore.of(-1, -500)));
+        timeline.add(new ScoreTimeline.Point(1000, 200, HardSoftLongScore.of(0, -400)));
+        timeline.add(new ScoreTimeline.Point(5000, 900, HardSoftLongScore.of(0, -300)));
+
+        assertThat(timeline.finalScore()).contains(HardSoftLongScore.of(0, -300));
+        assertThat(timeline.reached(HardSoftLongScore.of(0, -450))).map(ScoreTimeline.Point::moveCount).contains(1000L);
+        assertThat(timeline.reached(HardSoftLongScore.of(0, -100))).isEmpty();
+    }
+
+    @Test
+    void empty() {
+        ScoreTimeline timeline = new ScoreTimeline();
+
+        assertThat(timeline.finalScore()).isEmpty();
+        assertThat(timeline.reached(HardSoftLongScore.ZERO)).isEmpty();
+    }
+
+    @Test
+    void writeCsv(@TempDir Path directory) throws IOException {
+        ScoreTimeline timeline = new ScoreTimeline();
+        timeline.add(new ScoreTimeline.Point(1000, 200, HardSoftLongScore.of(0, -400)));
+        Map<String, ScoreTimeline> timelines = new LinkedHashMap<>();
+        timelines.put("default", timeline);
+        timelines.put("empty", new ScoreTimeline());
+        Path output = directory.resolve("report.csv");
+
+        ScoreTimeline.writeCsv(output, "variant", timelines);
+
+        assertThat(Files.readAllLines(output))
+                .containsExactly("variant,moveCount,millisSpent,hardScore,softScore", "default,1000,200,0,-400");
+    }
+}
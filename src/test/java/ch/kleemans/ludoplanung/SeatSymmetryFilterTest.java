@@ -0,0 +1,60 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.impl.domain.entity.descriptor.EntityDescriptor;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.ChangeMove;
+import ai.timefold.solver.core.impl.heuristic.selector.move.generic.SwapMove;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatSymmetryFilterTest {
+    private static final EntityDescriptor<LudoSchedule> SHIFT_DESCRIPTOR =
+            SolutionDescriptor.buildSolutionDescriptor(LudoSchedule.class, Shift.class).getEntityDescriptorStrict(Shift.class);
+
+    private final SeatSymmetryFilter filter = new SeatSymmetryFilter();
+    private final Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of()).build();
+    private final Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of()).build();
+    private final Person carol = Person.builder().name("Carol").idealLoad(1).availableDates(Set.of()).build();
+
+    private static ChangeMove<LudoSchedule> change(Shift shift, String variableName, Person person) {
+        return new ChangeMove<>(SHIFT_DESCRIPTOR.getGenuineVariableDescriptor(variableName), shift, person);
+    }
+
+    private static SwapMove<LudoSchedule> swap(Shift left, Shift right) {
+        return new SwapMove<>(SHIFT_DESCRIPTOR.getGenuineVariableDescriptorList(), left, right);
+    }
+
+    @Test
+    void changeMove() {
+        var shift = new Shift(LocalDate.of(2026, 2, 10), alice, bob);
+
+        assertThat(filter.accept(null, change(shift, "personA", carol))).isTrue();
+        assertThat(filter.accept(null, change(shift, "personB", carol))).isTrue();
+        // Only the order of the seats would change
+        assertThat(filter.accept(null, change(shift, "personA", bob))).isFalse();
+        assertThat(filter.accept(null, change(shift, "personB", alice))).isFalse();
+    }
+
+    @Test
+    void changeMove_otherSeatEmpty() {
+        var shift = new Shift(LocalDate.of(2026, 2, 10), null, null);
+
+        assertThat(filter.accept(null, change(shift, "personA", alice))).isTrue();
+    }
+
+    @Test
+    void swapMove() {
+        var shift = new Shift(LocalDate.of(2026, 2, 10), alice, bob);
+
+        assertThat(filter.accept(null, swap(shift, new Shift(LocalDate.of(2026, 2, 13), alice, carol)))).isTrue();
+        assertThat(filter.accept(null, swap(shift, new Shift(LocalDate.of(2026, 2, 13), bob, alice)))).isFalse();
+        assertThat(filter.accept(null, swap(shift, new Shift(LocalDate.of(2026, 2, 13), alice, bob)))).isFalse();
+    }
+}
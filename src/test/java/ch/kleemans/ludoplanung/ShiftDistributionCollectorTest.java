@@ -0,0 +1,70 @@
+package ch.kleemans.ludoplanung;
+
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShiftDistributionCollectorTest {
+
+    private final ShiftDistributionCollector collector = new ShiftDistributionCollector();
+    private final Person alice = Person.builder().name("Alice").idealLoad(1.0f).build(); // expected gap: 28 days
+
+    private Runnable add(ShiftDistributionCollector.ShiftDates dates, String date) {
+        return collector.accumulator().apply(dates, alice, new Shift(date, alice, null));
+    }
+
+    private long penalty(ShiftDistributionCollector.ShiftDates dates) {
+        return collector.finisher().apply(dates);
+    }
+
+    @Test
+    void singleShift_noPenalty() {
+        var dates = collector.supplier().get();
+        add(dates, "01.01.26");
+
+        assertThat(penalty(dates)).isZero();
+    }
+
+    @Test
+    void insertInBetween_replacesOuterGap() {
+        var dates = collector.supplier().get();
+        add(dates, "01.01.26");
+        add(dates, "29.01.26");
+        assertThat(penalty(dates)).isZero();
+
+        // Gaps of 7 and 21 days: (21^1.5 + 7^1.5) / 7 ≈ 16.39 weeks
+        Runnable undo = add(dates, "08.01.26");
+        assertThat(penalty(dates)).isEqualTo(1639);
+
+        undo.run();
+        assertThat(penalty(dates)).isZero();
+    }
+
+    @Test
+    void outOfOrderInsertAndRemove_sameAsSorted() {
+        var dates = collector.supplier().get();
+        Runnable undoLast = add(dates, "26.02.26");
+        add(dates, "01.01.26");
+        Runnable undoMiddle = add(dates, "08.01.26");
+
+        // Gaps of 7 days (21^1.5) and 49 days (no penalty)
+        assertThat(penalty(dates)).isEqualTo(1375);
+
+        undoLast.run();
+        assertThat(penalty(dates)).isEqualTo(1375);
+        undoMiddle.run();
+        assertThat(penalty(dates)).isZero();
+    }
+
+    @Test
+    void sameDateTwice_fullDeviation() {
+        var dates = collector.supplier().get();
+        add(dates, "01.01.26");
+        add(dates, "01.01.26");
+
+        // Gap of 0 days: 28^1.5 / 7 ≈ 21.17 weeks
+        assertThat(penalty(dates)).isEqualTo(2117);
+    }
+}
@@ -0,0 +1,84 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("slowly")
+class SolverServerTest {
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private static SolverServer server(int maxJobs) throws IOException {
+        Arguments arguments = new Arguments(new String[]{"--time-limit=2"});
+        SolverConfig solverConfig = LudoApp.createSolverConfig(arguments);
+        SolverService solverService = new SolverService(solverConfig, new TerminationPolicy(arguments), "1", maxJobs);
+        return new SolverServer(solverService, SolutionManager.create(SolverFactory.create(solverConfig)), 0);
+    }
+
+    private HttpResponse<String> send(SolverServer server, String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody())
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void solveOverHttp(@TempDir Path directory) throws IOException, InterruptedException {
+        // Needs decoding, and must not be split at the '&'
+        Path season = directory.resolve("club a&b");
+        SeasonGenerator.write(SeasonGenerator.builder().people(20).shifts(30).seed(1).build().generate(), season);
+        String seasonQuery = "?season=" + URLEncoder.encode(season.toString(), StandardCharsets.UTF_8);
+
+        try (SolverServer server = server(1)) {
+            assertThat(send(server, "GET", "/jobs").body()).isEqualTo("[]\n");
+
+            HttpResponse<String> submitted = send(server, "PUT", "/jobs/club-a" + seasonQuery);
+            assertThat(submitted.statusCode()).isEqualTo(202);
+            assertThat(submitted.body()).startsWith("{\"id\": \"club-a\", \"status\": \"SOLVING_");
+
+            assertThat(send(server, "PUT", "/jobs/club-a" + seasonQuery).statusCode()).isEqualTo(409);
+            assertThat(send(server, "PUT", "/jobs/club-b" + seasonQuery).statusCode()).isEqualTo(503);
+            assertThat(send(server, "PUT", "/jobs/club-b").statusCode()).isEqualTo(400);
+            assertThat(send(server, "PUT", "/jobs/club-b?season=" + directory.resolve("missing")).statusCode()).isEqualTo(400);
+            assertThat(send(server, "GET", "/jobs/club-b").statusCode()).isEqualTo(404);
+            assertThat(send(server, "GET", "/jobs/club%20b").statusCode()).isEqualTo(404);
+            assertThat(send(server, "POST", "/jobs").statusCode()).isEqualTo(405);
+            assertThat(send(server, "POST", "/jobs/club-a").statusCode()).isEqualTo(405);
+
+            // Until the job is done
+            HttpRequest eventsRequest = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + server.getPort() + "/jobs/club-a/events")).build();
+            HttpResponse<Stream<String>> events = client.send(eventsRequest, HttpResponse.BodyHandlers.ofLines());
+            assertThat(events.headers().firstValue("Content-Type")).hasValue("text/event-stream; charset=utf-8");
+            List<String> eventNames = events.body().filter(line -> line.startsWith("event: ")).toList();
+            assertThat(eventNames).isNotEmpty().last().isEqualTo("event: done");
+
+            assertThat(send(server, "GET", "/jobs/club-a").body()).contains("\"status\": \"NOT_SOLVING\", \"score\": \"0hard/");
+            HttpResponse<String> report = send(server, "GET", "/jobs/club-a/report?format=csv");
+            assertThat(report.statusCode()).isEqualTo(200);
+            assertThat(report.body()).startsWith("name,shifts,");
+            assertThat(send(server, "GET", "/jobs/club-a/report?format=html").statusCode()).isEqualTo(400);
+
+            assertThat(send(server, "DELETE", "/jobs/club-a").statusCode()).isEqualTo(204);
+            assertThat(send(server, "GET", "/jobs/club-a").statusCode()).isEqualTo(404);
+            assertThat(send(server, "DELETE", "/jobs/club-a").statusCode()).isEqualTo(404);
+        }
+    }
+}
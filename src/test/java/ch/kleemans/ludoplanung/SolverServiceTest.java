@@ -0,0 +1,110 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.solver.SolverStatus;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("slowly")
+class SolverServiceTest {
+
+    private static SolverService solverService(String timeLimit, int maxJobs) {
+        Arguments arguments = new Arguments(new String[]{"--time-limit=" + timeLimit});
+        return new SolverService(LudoApp.createSolverConfig(arguments), new TerminationPolicy(arguments), "1", maxJobs);
+    }
+
+    private static LudoSchedule season(long seed) {
+        return SeasonGenerator.builder().people(20).shifts(30).seed(seed).build().generate();
+    }
+
+    @Test
+    void jobsWaitForAFreeSolver() throws InterruptedException {
+        try (SolverService solverService = solverService("2", 5)) {
+            List<SolverService.JobUpdate> updates = new CopyOnWriteArrayList<>();
+            solverService.submit("club-a", season(1));
+            solverService.submit("club-b", season(2));
+            solverService.addListener("club-b", updates::add);
+
+            // Only one solver
+            assertThat(solverService.getStatus("club-b")).isEqualTo(SolverStatus.SOLVING_SCHEDULED);
+            assertThat(solverService.getSchedule("club-b")).isNull();
+
+            LudoSchedule a = solverService.awaitSchedule("club-a");
+            LudoSchedule b = solverService.awaitSchedule("club-b");
+
+            assertThat(a.getSolverStatus()).isEqualTo(SolverStatus.NOT_SOLVING);
+            assertThat(a.getScore().hardScore()).isZero();
+            assertThat(b.getScore().hardScore()).isZero();
+            assertThat(solverService.getJobs()).extracting(SolverService.JobUpdate::jobId).containsExactly("club-a", "club-b");
+            // Every new best solution, and the final one
+            assertThat(updates).isNotEmpty();
+            assertThat(updates.get(updates.size() - 1).status()).isEqualTo(SolverStatus.NOT_SOLVING);
+            assertThat(updates.get(updates.size() - 1).score()).isEqualTo(b.getScore());
+        }
+    }
+
+    @Test
+    void terminateEarly() throws InterruptedException {
+        try (SolverService solverService = solverService("600", 5)) {
+            solverService.submit("club-a", season(1));
+            long start = System.nanoTime();
+            while (solverService.getSchedule("club-a") == null) {
+                Thread.sleep(10);
+            }
+            assertThat(solverService.getSchedule("club-a").getSolverStatus()).isEqualTo(SolverStatus.SOLVING_ACTIVE);
+
+            assertThat(solverService.terminateEarly("club-a")).isTrue();
+            LudoSchedule schedule = solverService.awaitSchedule("club-a");
+
+            assertThat(System.nanoTime() - start).isLessThan(60_000_000_000L);
+            assertThat(schedule.getSolverStatus()).isEqualTo(SolverStatus.NOT_SOLVING);
+            assertThat(schedule.getScore()).isNotNull();
+            assertThat(solverService.terminateEarly("unknown")).isFalse();
+        }
+    }
+
+    @Test
+    void terminateWaitingJob() throws InterruptedException {
+        try (SolverService solverService = solverService("600", 5)) {
+            List<SolverService.JobUpdate> updates = new CopyOnWriteArrayList<>();
+            solverService.submit("club-a", season(1));
+            solverService.submit("club-b", season(2));
+            solverService.addListener("club-b", updates::add);
+
+            assertThat(solverService.terminateEarly("club-b")).isTrue();
+            assertThat(solverService.terminateEarly("club-b")).isTrue();
+
+            // Cancelled without a solution, and done only once
+            assertThat(solverService.awaitSchedule("club-b")).isNull();
+            assertThat(updates).extracting(SolverService.JobUpdate::status).containsExactly(SolverStatus.NOT_SOLVING);
+            assertThat(solverService.getStatus("club-a")).isNotEqualTo(SolverStatus.NOT_SOLVING);
+        }
+    }
+
+    @Test
+    void rejected() throws InterruptedException {
+        try (SolverService solverService = solverService("600", 2)) {
+            solverService.submit("club-a", season(1));
+            solverService.submit("club-b", season(2));
+
+            assertThatThrownBy(() -> solverService.submit("club-a", season(1))).isInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> solverService.submit("club-c", season(3))).isInstanceOf(RejectedExecutionException.class);
+
+            // A job that is done can be solved again, once awaited also the solver manager is done with it
+            solverService.terminateEarly("club-a");
+            solverService.awaitSchedule("club-a");
+            solverService.submit("club-a", season(1));
+            assertThat(solverService.getStatus("club-a")).isNotEqualTo(SolverStatus.NOT_SOLVING);
+            assertThat(solverService.remove("club-b")).isTrue();
+            assertThat(solverService.getJob("club-b")).isNull();
+        }
+    }
+}
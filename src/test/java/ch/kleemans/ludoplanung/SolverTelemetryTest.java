@@ -0,0 +1,97 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ch.kleemans.ludoplanung.data.SeasonGenerator;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SolverTelemetryTest {
+
+    @Test
+    void csv(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("metrics.csv");
+
+        List<SolverTelemetry.Sample> samples = solve(file, SolverTelemetry.Format.CSV);
+
+        // Every 100 ms for 1 second, and a last one at the end
+        assertThat(samples).hasSizeGreaterThanOrEqualTo(5);
+        SolverTelemetry.Sample last = samples.get(samples.size() - 1);
+        assertThat(last.moveEvaluationCount()).isPositive();
+        assertThat(last.scoreCalculationCount()).isGreaterThanOrEqualTo(last.moveEvaluationCount());
+        assertThat(last.bestScore().hardScore()).isZero();
+        assertThat(samples).isSortedAccordingTo((a, b) -> Long.compare(a.moveEvaluationCount(), b.moveEvaluationCount()));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines.get(0)).startsWith("timestamp,millisSpent,moveEvaluationCount,");
+        assertThat(lines).hasSize(samples.size() + 1);
+        assertThat(lines.get(lines.size() - 1)).contains("," + last.moveEvaluationCount() + ",");
+    }
+
+    @Test
+    void openMetrics(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("metrics.txt");
+
+        List<SolverTelemetry.Sample> samples = solve(file, SolverTelemetry.Format.OPENMETRICS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).contains("# TYPE ludo_solver_move_evaluation counter", "# TYPE ludo_jvm_heap_used_bytes gauge");
+        assertThat(lines).filteredOn(line -> line.startsWith("ludo_solver_move_evaluation_total "))
+                .hasSameSizeAs(samples);
+        assertThat(lines.get(lines.size() - 1)).isEqualTo("# EOF");
+    }
+
+    @Test
+    void openMetricsOfSample() {
+        SolverTelemetry.Sample sample = new SolverTelemetry.Sample(1_700_000_000_123L, 1000, 500, 500, 505, 505,
+                HardSoftLongScore.of(0, -42), 1024, 2048, 3, 1500);
+
+        String text = SolverTelemetry.openMetrics(List.of(sample), true);
+
+        assertThat(text).contains("ludo_solver_move_evaluation_total 500 1700000000.123\n",
+                "ludo_solver_best_score_soft -42 1700000000.123\n",
+                "ludo_jvm_gc_seconds_total 1.5 1700000000.123\n");
+        assertThat(SolverTelemetry.openMetrics(List.of(sample), false)).contains("ludo_solver_score_calculation_total 505\n");
+    }
+
+    @Test
+    void openMetricsWithoutAllocatedBytes() {
+        SolverTelemetry.Sample sample = new SolverTelemetry.Sample(1_700_000_000_123L, 1000, 500, 500, 505, 505,
+                null, -1, 2048, 3, 1500);
+
+        String text = SolverTelemetry.openMetrics(List.of(sample), false);
+
+        assertThat(text).contains("# TYPE ludo_solver_allocated_bytes counter\n", "ludo_solver_best_score_hard NaN\n")
+                .doesNotContain("ludo_solver_allocated_bytes_total");
+    }
+
+    @Test
+    void unknownFormat() {
+        assertThat(SolverTelemetry.Format.parse("OpenMetrics")).isEqualTo(SolverTelemetry.Format.OPENMETRICS);
+        assertThatThrownBy(() -> SolverTelemetry.Format.parse("json")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<SolverTelemetry.Sample> solve(Path file, SolverTelemetry.Format format) throws IOException {
+        LudoSchedule season = SeasonGenerator.builder().people(20).shifts(30).seed(1).build().generate();
+        DefaultSolver<LudoSchedule> solver = (DefaultSolver<LudoSchedule>) SolverFactory.<LudoSchedule>create(
+                LudoApp.createSolverConfig(new Arguments(new String[0])).withTerminationSpentLimit(Duration.ofSeconds(1)))
+                .buildSolver();
+        SolverTelemetry telemetry = new SolverTelemetry(file, format, null, Duration.ofMillis(100));
+        try (telemetry) {
+            telemetry.start(solver);
+            solver.solve(season);
+        }
+        return telemetry.getSamples();
+    }
+}
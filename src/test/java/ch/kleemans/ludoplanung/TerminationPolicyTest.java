@@ -0,0 +1,78 @@
+package ch.kleemans.ludoplanung;
+
+import ai.timefold.solver.core.config.solver.termination.TerminationCompositionStyle;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TerminationPolicyTest {
+
+    private static LudoSchedule schedule(int shiftCount, int pinnedCount) {
+        List<Shift> shifts = new ArrayList<>();
+        for (int i = 0; i < shiftCount; i++) {
+            var shift = new Shift(LocalDate.of(2026, 1, 1).plusDays(i), null, null);
+            shift.setPinned(i < pinnedCount);
+            shifts.add(shift);
+        }
+        return new LudoSchedule(shifts, new ArrayList<>());
+    }
+
+    private static TerminationPolicy policy(String... args) {
+        return new TerminationPolicy(new Arguments(args));
+    }
+
+    @Test
+    void timeLimit_scaledWithOpenShifts() {
+        assertThat(policy().timeLimit(schedule(150, 0))).isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy().timeLimit(schedule(150, 100))).isEqualTo(Duration.ofSeconds(100));
+        assertThat(policy("--seconds-per-shift=3").timeLimit(schedule(150, 100))).isEqualTo(Duration.ofSeconds(150));
+        assertThat(policy().timeLimit(schedule(5, 0))).isEqualTo(TerminationPolicy.MIN_TIME_LIMIT);
+        assertThat(policy().timeLimit(schedule(5000, 0))).isEqualTo(TerminationPolicy.MAX_TIME_LIMIT);
+    }
+
+    @Test
+    void timeLimit_fixed() {
+        assertThat(policy("--time-limit=42").timeLimit(schedule(150, 0))).isEqualTo(Duration.ofSeconds(42));
+        assertThat(policy("--time-limit=auto").timeLimit(schedule(150, 0))).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void terminationConfig() {
+        TerminationConfig terminationConfig = policy("--time-limit=60", "--unimproved-seconds=20",
+                "--score-target=0hard/-500000soft", "--plateau-seconds=10").terminationConfig(schedule(10, 0));
+
+        assertThat(terminationConfig.getSpentLimit()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(terminationConfig.getUnimprovedSpentLimit()).isEqualTo(Duration.ofSeconds(20));
+        assertThat(terminationConfig.getBestScoreLimit()).isEqualTo("0hard/-500000soft");
+        TerminationConfig plateau = terminationConfig.getTerminationConfigList().get(0);
+        assertThat(plateau.getTerminationCompositionStyle()).isEqualTo(TerminationCompositionStyle.AND);
+        assertThat(plateau.getBestScoreFeasible()).isTrue();
+        assertThat(plateau.getUnimprovedSpentLimit()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void terminationConfig_onlyTimeLimit() {
+        TerminationConfig terminationConfig = policy().terminationConfig(schedule(10, 0));
+
+        assertThat(terminationConfig.getSpentLimit()).isEqualTo(TerminationPolicy.MIN_TIME_LIMIT);
+        assertThat(terminationConfig.getUnimprovedSpentLimit()).isNull();
+        assertThat(terminationConfig.getBestScoreLimit()).isNull();
+        assertThat(terminationConfig.getTerminationConfigList()).isNull();
+    }
+
+    @Test
+    void invalid() {
+        assertThatThrownBy(() -> policy("--time-limit=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy("--unimproved-seconds=soon")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy("--score-target=good")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
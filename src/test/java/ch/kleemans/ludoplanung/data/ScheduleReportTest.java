@@ -0,0 +1,133 @@
+package ch.kleemans.ludoplanung.data;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ai.timefold.solver.core.api.solver.ScoreAnalysisFetchPolicy;
+import ai.timefold.solver.core.api.solver.SolutionManager;
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ch.kleemans.ludoplanung.Arguments;
+import ch.kleemans.ludoplanung.LudoApp;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleReportTest {
+    private static final LocalDate TUESDAY = LocalDate.of(2026, 2, 10);
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 2, 13);
+    private static final LocalDate SATURDAY = LocalDate.of(2026, 2, 21);
+
+    private final Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(TUESDAY, FRIDAY, SATURDAY))
+            .unwantedDaysOfWeek(Set.of(DayOfWeek.SATURDAY)).build();
+    private final Person bob = Person.builder().name("Bob, \"B\"").idealLoad(2).availableDates(Set.of(TUESDAY)).build();
+    private final Person carol = Person.builder().name("Carol").idealLoad(1).availableDates(Set.of(FRIDAY, SATURDAY)).build();
+
+    private LudoSchedule createSchedule() {
+        // Not in date order
+        var schedule = new LudoSchedule(new ArrayList<>(List.of(
+                new Shift(SATURDAY, alice, carol),
+                new Shift(TUESDAY, alice, bob),
+                new Shift(FRIDAY, carol, alice))),
+                new ArrayList<>(List.of(alice, bob, carol)));
+        schedule.setScore(HardSoftLongScore.of(0, -1234));
+        return schedule;
+    }
+
+    private static String write(ScheduleReport report, ScheduleReport.Format format) throws IOException {
+        var writer = new StringWriter();
+        report.write(writer, format);
+        return writer.toString();
+    }
+
+    @Test
+    void personSummaries() {
+        var summaries = new ScheduleReport(createSchedule()).getPersonSummaries();
+
+        var alices = summaries.get(0);
+        assertThat(alices.dates()).containsExactly(TUESDAY, FRIDAY, SATURDAY);
+        assertThat(alices.unwantedDates()).containsExactly(SATURDAY);
+        assertThat(alices.unwantedCount()).isEqualTo(1);
+        assertThat(alices.minGap()).isEqualTo(3);
+        assertThat(alices.maxGap()).isEqualTo(8);
+        assertThat(alices.idealCount()).isEqualTo(5);
+        // Fewer than two shifts, no gaps
+        assertThat(summaries.get(1).dates()).containsExactly(TUESDAY);
+        assertThat(summaries.get(1).minGap()).isZero();
+        assertThat(summaries.get(1).maxGap()).isZero();
+    }
+
+    @Test
+    void personSummaries_unknownPersonLeftOut() {
+        var schedule = createSchedule();
+        schedule.getShifts().get(0).setPersonB(Person.builder().name("Dave").idealLoad(1).build());
+
+        var summaries = new ScheduleReport(schedule).getPersonSummaries();
+
+        assertThat(summaries).extracting(summary -> summary.person().getName()).containsExactly("Alice", "Bob, \"B\"", "Carol");
+        assertThat(summaries.get(2).dates()).containsExactly(FRIDAY);
+    }
+
+    @Test
+    void text() throws IOException {
+        String text = write(new ScheduleReport(createSchedule()), ScheduleReport.Format.TEXT);
+
+        assertThat(text).startsWith("Shifts\n===================\n2026-02-21: Alice, Carol\n");
+        assertThat(text).contains("Alice, shifts: 3/5.0, unwanted: 1 [2026-02-21], min/max gaps: 3/8 (ideal: 28.0), "
+                + "dates: [2026-02-10, 2026-02-13, 2026-02-21]\n");
+        assertThat(text).contains("Carol, shifts: 2/5.0, unwanted: 0, min/max gaps: 8/8");
+        assertThat(text).doesNotContain("Constraints");
+        assertThat(ScheduleReport.toText(createSchedule())).isEqualTo(text);
+    }
+
+    @Test
+    void csv() throws IOException {
+        String csv = write(new ScheduleReport(createSchedule()), ScheduleReport.Format.CSV);
+
+        assertThat(csv.split("\n")).containsExactly(
+                "name,shifts,idealShifts,unwanted,minGap,maxGap,idealGap,dates",
+                "Alice,3,5.0,1,3,8,28.0,2026-02-10 2026-02-13 2026-02-21",
+                "\"Bob, \"\"B\"\"\",1,10.0,0,0,0,14.0,2026-02-10",
+                "Carol,2,5.0,0,8,8,28.0,2026-02-13 2026-02-21");
+    }
+
+    @Test
+    void json() throws IOException {
+        String json = write(new ScheduleReport(createSchedule()), ScheduleReport.Format.JSON);
+
+        assertThat(json).startsWith("{\"score\":\"0hard/-1234soft\",\"shifts\":[{\"date\":\"2026-02-21\",\"personA\":\"Alice\",");
+        assertThat(json).contains("{\"name\":\"Bob, \\\"B\\\"\",\"shifts\":1,");
+        assertThat(json).endsWith("\"constraints\":[]}\n");
+    }
+
+    @Test
+    void withScoreAnalysis() throws IOException {
+        var schedule = createSchedule();
+        var solutionManager = SolutionManager.<LudoSchedule, HardSoftLongScore>create(
+                SolverFactory.create(LudoApp.createSolverConfig(new Arguments(new String[0]))));
+        var report = new ScheduleReport(schedule, solutionManager.analyze(schedule, ScoreAnalysisFetchPolicy.FETCH_MATCH_COUNT));
+
+        assertThat(write(report, ScheduleReport.Format.TEXT))
+                .contains("\nConstraints\n===================\n")
+                .contains("Person should not work on unwanted day of week if possible: ");
+        assertThat(write(report, ScheduleReport.Format.MARKDOWN))
+                .contains("| No person twice in same week | -1hard/0soft | 1 |");
+        assertThat(write(report, ScheduleReport.Format.JSON))
+                .contains("{\"name\":\"Person A and B must be different\",\"hardScore\":0,\"softScore\":0,\"matches\":0}");
+    }
+
+    @Test
+    void format() {
+        assertThat(ScheduleReport.Format.parse("markdown")).isEqualTo(ScheduleReport.Format.MARKDOWN);
+        assertThatThrownBy(() -> ScheduleReport.Format.parse("html")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
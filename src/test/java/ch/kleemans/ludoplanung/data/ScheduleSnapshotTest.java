@@ -0,0 +1,110 @@
+package ch.kleemans.ludoplanung.data;
+
+import ai.timefold.solver.core.api.score.buildin.hardsoftlong.HardSoftLongScore;
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScheduleSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private static LudoSchedule createSchedule() {
+        LudoSchedule schedule = SeasonGenerator.builder().people(30).shifts(45).seed(7).build().generate();
+        Random random = new Random(0);
+        for (Shift shift : schedule.getShifts()) {
+            if (random.nextBoolean()) {
+                shift.setPersonA(schedule.getPeople().get(random.nextInt(30)));
+                shift.setPersonB(schedule.getPeople().get(random.nextInt(30)));
+            }
+        }
+        schedule.getShifts().get(3).setPinned(true);
+        schedule.setScore(HardSoftLongScore.of(-2, -12345));
+        return schedule;
+    }
+
+    @Test
+    void writeAndRead() throws IOException {
+        LudoSchedule schedule = createSchedule();
+        Path file = directory.resolve("schedule.ludo");
+
+        ScheduleSnapshot.write(schedule, file);
+        LudoSchedule read = ScheduleSnapshot.read(file);
+
+        assertThat(read.getScore()).isEqualTo(HardSoftLongScore.of(-2, -12345));
+        assertThat(read.getPeople()).hasSize(30);
+        for (int i = 0; i < 30; i++) {
+            Person expected = schedule.getPeople().get(i);
+            Person actual = read.getPeople().get(i);
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(actual.getIdealLoad()).isEqualTo(expected.getIdealLoad());
+            assertThat(actual.getAvailableDates()).isEqualTo(expected.getAvailableDates());
+            assertThat(actual.getUnwantedDaysOfWeek()).isEqualTo(expected.getUnwantedDaysOfWeek());
+        }
+        assertThat(read.getShifts()).hasSize(45);
+        for (int i = 0; i < 45; i++) {
+            Shift expected = schedule.getShifts().get(i);
+            Shift actual = read.getShifts().get(i);
+            assertThat(actual.getId()).isEqualTo(expected.getId());
+            assertThat(actual.getDate()).isEqualTo(expected.getDate());
+            assertThat(actual.getPersonA()).isEqualTo(expected.getPersonA());
+            assertThat(actual.getPersonB()).isEqualTo(expected.getPersonB());
+            assertThat(actual.isPinned()).isEqualTo(expected.isPinned());
+        }
+        // Assigned people are the instances of the people list
+        Shift assigned = read.getShifts().stream().filter(shift -> shift.getPersonA() != null).findFirst().orElseThrow();
+        assertThat(read.getPeople()).anyMatch(person -> person == assigned.getPersonA());
+    }
+
+    @Test
+    void writeAndRead_withoutScore() throws IOException {
+        LudoSchedule schedule = SeasonGenerator.builder().people(5).shifts(10).build().generate();
+        Path file = directory.resolve("schedule.ludo");
+
+        ScheduleSnapshot.write(schedule, file);
+        LudoSchedule read = ScheduleSnapshot.read(file);
+
+        assertThat(read.getScore()).isNull();
+        assertThat(read.getShifts()).allMatch(shift -> shift.getPersonA() == null && shift.getPersonB() == null);
+    }
+
+    @Test
+    void write_replacesExistingFile() throws IOException {
+        Path file = directory.resolve("schedule.ludo");
+        ScheduleSnapshot.write(createSchedule(), file);
+        ScheduleSnapshot.write(SeasonGenerator.builder().people(5).shifts(10).build().generate(), file);
+
+        assertThat(ScheduleSnapshot.read(file).getPeople()).hasSize(5);
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    void read_corrupt() throws IOException {
+        Path file = directory.resolve("schedule.ludo");
+        ScheduleSnapshot.write(createSchedule(), file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[100] ^= 1;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> ScheduleSnapshot.read(file)).isInstanceOf(IOException.class).hasMessageContaining("checksum");
+    }
+
+    @Test
+    void read_notASnapshot() throws IOException {
+        Path file = directory.resolve("dates.txt");
+        Files.writeString(file, "Daten\n10.02.26\tDi.\n".repeat(10));
+
+        assertThatThrownBy(() -> ScheduleSnapshot.read(file)).isInstanceOf(IOException.class).hasMessageContaining("Not a schedule snapshot");
+    }
+}
@@ -0,0 +1,95 @@
+package ch.kleemans.ludoplanung.data;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeasonGeneratorTest {
+
+    private final SeasonGenerator generator = SeasonGenerator.builder().people(30).shifts(45).seed(7).build();
+
+    @Test
+    void generate_sameSeedSameSeason() throws IOException {
+        var first = generator.generate();
+        var second = generator.generate();
+
+        assertThat(first.getShifts()).hasSize(45);
+        assertThat(first.getPeople()).hasSize(30);
+        assertThat(first.getShifts()).extracting(Shift::getDate).containsExactlyElementsOf(second.getShifts().stream().map(Shift::getDate).toList());
+        assertThat(first.getPeople()).extracting(Person::getAvailableDates).containsExactlyElementsOf(second.getPeople().stream().map(Person::getAvailableDates).toList());
+    }
+
+    @Test
+    void generate_onlyShiftDays() {
+        var season = generator.generate();
+
+        assertThat(season.getShifts()).extracting(Shift::getDayOfWeek)
+                .containsOnly(DayOfWeek.TUESDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+    }
+
+    @Test
+    void generate_everyShiftHasAvailablePeople() {
+        var season = SeasonGenerator.builder().people(5).shifts(100).availability(0.05).seed(1).build().generate();
+
+        for (Shift shift : season.getShifts()) {
+            // Person A and B
+            assertThat(season.getPeople()).filteredOn(person -> person.isAvailable(shift)).hasSizeGreaterThanOrEqualTo(2);
+        }
+        assertThat(season.getPeople()).allMatch(person -> !person.getAvailableDates().isEmpty());
+    }
+
+    @Test
+    void generate_withoutShiftDays() {
+        var withoutShiftDays = SeasonGenerator.builder().people(5).shifts(10).shiftDays(Set.of()).build();
+
+        assertThatThrownBy(withoutShiftDays::generate).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void write_sameFormatAsForm(@TempDir Path directory) throws IOException {
+        LudoSchedule season = generator.generate();
+        SeasonGenerator.write(season, directory);
+
+        List<String> dates = Files.readAllLines(directory.resolve("dates.txt"));
+        assertThat(dates).hasSize(46);
+        assertThat(dates.get(1)).isEqualTo("10.02.26\tDi.");
+
+        List<String> answers = Files.readAllLines(directory.resolve("form_answers.csv"));
+        assertThat(answers).hasSize(31);
+        assertThat(answers.get(1)).startsWith("\"2025/11/27 9:00:00 PM MEZ\",\"Person 01\",");
+    }
+
+    @Test
+    void parseOptions() {
+        assertThat(SeasonGenerator.parseShiftDays("monday, Wednesday"))
+                .containsExactlyInAnyOrder(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY);
+        assertThat(SeasonGenerator.parseIdealLoads("1:5,1.5:2,2:3")).containsEntry(1f, 5).containsEntry(1.5f, 2).containsEntry(2f, 3);
+        assertThatThrownBy(() -> SeasonGenerator.parseShiftDays("Tue")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeasonGenerator.parseIdealLoads("1.5")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeasonGenerator.parseIdealLoads("2:0")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void generate_withIdealLoadsAndShiftDays() {
+        var season = SeasonGenerator.builder().people(20).shifts(10).seed(1)
+                .shiftDays(SeasonGenerator.parseShiftDays("MONDAY"))
+                .idealLoadWeights(SeasonGenerator.parseIdealLoads("3:1"))
+                .build()
+                .generate();
+
+        assertThat(season.getShifts()).extracting(Shift::getDayOfWeek).containsOnly(DayOfWeek.MONDAY);
+        assertThat(season.getPeople()).extracting(Person::getIdealLoad).containsOnly(3f);
+    }
+}
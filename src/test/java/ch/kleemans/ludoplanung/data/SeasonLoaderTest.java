@@ -0,0 +1,142 @@
+package ch.kleemans.ludoplanung.data;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeasonLoaderTest {
+
+    private static final String DATES = """
+            Daten
+            10.02.26\tDi.
+            13.02.26\tFr.
+            14.02.26\tSa.
+            """;
+    private static final String HEADER = "\"Zeitstempel\",\"Mein Name:\",factor,unwanted,\"Ich kann an diesen Daten den Ludo-Dienst übernehmen:\"\n";
+
+    private static LudoSchedule load(String dates, String answers) throws IOException {
+        return SeasonLoader.load(new StringReader(dates), "dates.txt", new StringReader(answers), "form_answers.csv");
+    }
+
+    @Test
+    void load() throws IOException {
+        var season = load(DATES, HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Shane\",1,Mo,\"10.02.26 Di.;13.02.26 Fr.\"\n"
+                + "\"2025/11/27 9:16:06 PM MEZ\",\"Malik\",1.5,Fr;Sa,\"13.02.26 Fr.;14.02.26 Sa.\",\n");
+
+        assertThat(season.getShifts()).extracting(Shift::getDate)
+                .containsExactly(LocalDate.of(2026, 2, 10), LocalDate.of(2026, 2, 13), LocalDate.of(2026, 2, 14));
+        assertThat(season.getPeople()).extracting(Person::getName).containsExactly("Shane", "Malik");
+
+        Person malik = season.getPeople().get(1);
+        assertThat(malik.getIdealLoad()).isEqualTo(1.5f);
+        assertThat(malik.getUnwantedDaysOfWeek()).containsExactlyInAnyOrder(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+        assertThat(malik.getAvailableDates()).containsExactlyInAnyOrder(LocalDate.of(2026, 2, 13), LocalDate.of(2026, 2, 14));
+    }
+
+    @Test
+    void load_quotedFields() throws IOException {
+        var season = load(DATES, HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Muster, Hans \"\"Hansi\"\"\",2,,\"10.02.26 Di.;13.02.26 Fr.;14.02.26 Sa.\"\n");
+
+        assertThat(season.getPeople()).extracting(Person::getName).containsExactly("Muster, Hans \"Hansi\"");
+        assertThat(season.getPeople().get(0).getUnwantedDaysOfWeek()).isEmpty();
+    }
+
+    @Test
+    void load_sharesDates() throws IOException {
+        var season = load(DATES, HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Shane\",1,,\"10.02.26 Di.;13.02.26 Fr.\"\n"
+                + "\"2025/11/27 9:16:06 PM MEZ\",\"Malik\",1,,\"13.02.26 Fr.;14.02.26 Sa.\"\n");
+
+        LocalDate shiftDate = season.getShifts().get(1).getDate();
+        for (Person person : season.getPeople()) {
+            assertThat(person.getAvailableDates()).anyMatch(date -> date == shiftDate);
+        }
+    }
+
+    @Test
+    void load_reportsAllErrorsWithLineNumbers() {
+        String answers = HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Shane\",1,Mo,\"10.02.26 Di.;13.02.26 Fr.\"\n"
+                + "\"2025/11/27 9:16:06 PM MEZ\",\"Malik\",viel,Fr,\"13.02.26 Fr.\"\n"
+                + "\"2025/11/27 9:16:16 PM MEZ\",\"Shane\",1,Xy,\"32.02.26 Di.;17.02.26 Di.\"\n";
+
+        assertThatThrownBy(() -> load(DATES, answers))
+                .isInstanceOf(SeasonFormatException.class)
+                .satisfies(e -> assertThat(((SeasonFormatException) e).getErrors()).containsExactly(
+                        "form_answers.csv:3: Ideal load must be a positive number: 'viel'",
+                        "form_answers.csv:4: Duplicate name 'Shane', already on line 2",
+                        "form_answers.csv:4: Unknown day of week 'Xy'",
+                        "form_answers.csv:4: Invalid date '32.02.26', expected e.g. 10.02.26",
+                        "form_answers.csv:4: Date 17.02.26 is not in the shift dates",
+                        "dates.txt:4: Nobody is available on 2026-02-14"));
+    }
+
+    @Test
+    void load_multiLineRecord() {
+        // The first record spans lines 2 and 3
+        assertThatThrownBy(() -> load(DATES, HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Shane\",1,,\"10.02.26 Di.;\n13.02.26 Fr.\"\n"
+                + "\"2025/11/27 9:16:06 PM MEZ\",\"Malik\",1,,\"14.02.26 Sa.\"\n"
+                + "\"2025/11/27 9:16:16 PM MEZ\",\"Bradley\",x,,\"14.02.26 Sa.\"\n"))
+                .isInstanceOf(SeasonFormatException.class)
+                .hasMessageContaining("form_answers.csv:5: Ideal load");
+    }
+
+    @Test
+    void load_wrongDayOfWeek() {
+        assertThatThrownBy(() -> load("Daten\n10.02.26\tFr.\n", HEADER
+                + "\"2025/11/27 9:15:56 PM MEZ\",\"Shane\",1,,\"10.02.26 Di.\"\n"))
+                .isInstanceOf(SeasonFormatException.class)
+                .hasMessageContaining("dates.txt:2: Day of week 'Fr.' does not match 2026-02-10 (TUESDAY)");
+    }
+
+    @Test
+    void load_generatedSeason(@TempDir Path directory) throws IOException {
+        LudoSchedule generated = SeasonGenerator.builder().people(30).shifts(45).seed(7).build().generate();
+        SeasonGenerator.write(generated, directory);
+
+        LudoSchedule loaded = SeasonLoader.load(directory);
+
+        assertThat(loaded.getShifts()).extracting(Shift::getDate)
+                .containsExactlyElementsOf(generated.getShifts().stream().map(Shift::getDate).toList());
+        assertThat(loaded.getPeople()).hasSize(30);
+        for (int i = 0; i < 30; i++) {
+            Person expected = generated.getPeople().get(i);
+            Person actual = loaded.getPeople().get(i);
+            assertThat(actual.getName()).isEqualTo(expected.getName());
+            assertThat(actual.getIdealLoad()).isEqualTo(expected.getIdealLoad());
+            assertThat(actual.getAvailableDates()).isEqualTo(expected.getAvailableDates());
+            assertThat(actual.getUnwantedDaysOfWeek()).isEqualTo(expected.getUnwantedDaysOfWeek());
+        }
+    }
+
+    @Test
+    void load_onlyOneFromStdin() {
+        assertThatThrownBy(() -> SeasonLoader.load(SeasonLoader.STDIN, SeasonLoader.STDIN))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void csvReader_lineNumbers() throws IOException {
+        var reader = new CsvReader(new StringReader("a,\"b\nc\"\r\nd,e\n"), ',');
+
+        assertThat(reader.readRecord()).containsExactly("a", "b\nc");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(1);
+        assertThat(reader.readRecord()).containsExactly("d", "e");
+        assertThat(reader.getRecordLineNumber()).isEqualTo(3);
+        assertThat(reader.readRecord()).isNull();
+    }
+}
@@ -0,0 +1,48 @@
+package ch.kleemans.ludoplanung.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateSetTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 2, 10);
+
+    private static DateSet dateSet(int... days) {
+        BitSet bits = new BitSet();
+        for (int day : days) {
+            bits.set(day);
+        }
+        return new DateSet(FIRST_DAY.toEpochDay(), bits);
+    }
+
+    @Test
+    void containsAndIterates() {
+        var dates = dateSet(0, 3, 70);
+
+        assertThat(dates).hasSize(3).containsExactly(FIRST_DAY, FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(70));
+        assertThat(dates.contains(FIRST_DAY.minusDays(1))).isFalse();
+        assertThat(dates.contains(FIRST_DAY.plusDays(71))).isFalse();
+        assertThat(dates.contains("2026-02-10")).isFalse();
+    }
+
+    @Test
+    void equalsOtherSets() {
+        var dates = dateSet(0, 3);
+
+        assertThat(dates).isEqualTo(Set.of(FIRST_DAY, FIRST_DAY.plusDays(3)));
+        assertThat(dates.hashCode()).isEqualTo(Set.of(FIRST_DAY, FIRST_DAY.plusDays(3)).hashCode());
+    }
+
+    @Test
+    void usedByPerson() {
+        var person = Person.builder().name("Alice").idealLoad(1).availableDates(dateSet(3)).build();
+
+        assertThat(person.isAvailable(FIRST_DAY.plusDays(3))).isTrue();
+        assertThat(person.isAvailable(FIRST_DAY)).isFalse();
+        assertThat(person.isAvailable(new Shift(FIRST_DAY.plusDays(3), null, null))).isTrue();
+    }
+}
@@ -0,0 +1,48 @@
+package ch.kleemans.ludoplanung.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LudoScheduleTest {
+
+    @Test
+    void freezeBefore() {
+        var alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of()).build();
+        var bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of()).build();
+        var assigned = new Shift(LocalDate.of(2026, 2, 10), alice, bob);
+        var unassigned = new Shift(LocalDate.of(2026, 2, 13), alice, null);
+        var later = new Shift(LocalDate.of(2026, 2, 14), alice, bob);
+        var schedule = new LudoSchedule(List.of(assigned, unassigned, later), List.of(alice, bob));
+
+        assertThat(schedule.freezeBefore(LocalDate.of(2026, 2, 14))).isEqualTo(1);
+
+        assertThat(assigned.isPinned()).isTrue();
+        assertThat(unassigned.isPinned()).isFalse();
+        assertThat(later.isPinned()).isFalse();
+    }
+
+    @Test
+    void availablePeopleFor() {
+        var date = LocalDate.of(2026, 2, 10);
+        var alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(date)).build();
+        var bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(date)).build();
+        var carol = Person.builder().name("Carol").idealLoad(1).availableDates(Set.of()).build();
+        var shift = new Shift(date, null, null);
+        var lonely = new Shift(LocalDate.of(2026, 2, 13), null, null);
+        var schedule = new LudoSchedule(new ArrayList<>(List.of(shift, lonely)), new ArrayList<>(List.of(alice, bob, carol)));
+
+        assertThat(shift.getAvailablePeople()).containsExactly(alice, bob);
+        // Nobody available, so everybody is tried
+        assertThat(lonely.getAvailablePeople()).containsExactly(alice, bob, carol);
+
+        carol.setAvailableDates(Set.of(date));
+        schedule.updateAvailablePeople();
+        assertThat(shift.getAvailablePeople()).containsExactly(alice, bob, carol);
+    }
+}
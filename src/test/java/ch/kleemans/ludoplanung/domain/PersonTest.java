@@ -2,6 +2,7 @@ package ch.kleemans.ludoplanung.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.Set;
 
@@ -11,7 +12,8 @@ class PersonTest {
     private final LocalDate availableDate = LocalDate.of(2026, 2, 10);
     private final LocalDate unavailableDate = LocalDate.of(2026, 2, 13);
 
-    private final Person alice = Person.builder().name("Alice").idealLoad(1.5f).availableDates(Set.of(availableDate)).build();
+    private final Person alice = Person.builder().name("Alice").idealLoad(1.5f).availableDates(Set.of(availableDate))
+            .unwantedDaysOfWeek(Set.of(DayOfWeek.FRIDAY)).build();
 
     @Test
     void getIdealLoad() {
@@ -23,4 +25,35 @@ class PersonTest {
         assertThat(alice.isAvailable(availableDate)).isTrue();
         assertThat(alice.isAvailable(unavailableDate)).isFalse();
     }
+
+    @Test
+    void isAvailable_shift() {
+        assertThat(alice.isAvailable(new Shift(availableDate, alice, null))).isTrue();
+        assertThat(alice.isAvailable(new Shift(unavailableDate, alice, null))).isFalse();
+        assertThat(alice.isAvailable(new Shift(availableDate.minusDays(1), alice, null))).isFalse();
+    }
+
+    @Test
+    void isAvailable_afterSetAvailableDates() {
+        var bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(availableDate)).build();
+        bob.setAvailableDates(Set.of(unavailableDate));
+
+        assertThat(bob.isAvailable(availableDate)).isFalse();
+        assertThat(bob.isAvailable(new Shift(unavailableDate, bob, null))).isTrue();
+    }
+
+    @Test
+    void isAvailable_noDates() {
+        var bob = Person.builder().name("Bob").idealLoad(1).build();
+
+        assertThat(bob.isAvailable(availableDate)).isFalse();
+    }
+
+    @Test
+    void isUnwantedDate() {
+        assertThat(alice.isUnwantedDate(availableDate)).isFalse(); // Tuesday
+        assertThat(alice.isUnwantedDate(unavailableDate)).isTrue(); // Friday
+        assertThat(alice.isUnwantedDate(new Shift(availableDate, alice, null))).isFalse();
+        assertThat(alice.isUnwantedDate(new Shift(unavailableDate, alice, null))).isTrue();
+    }
 }
@@ -2,6 +2,9 @@ package ch.kleemans.ludoplanung.domain;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class ShiftTest {
@@ -18,4 +21,26 @@ class ShiftTest {
 
         assertThat(shift1.getWeekNumber()).isNotEqualTo(shift4.getWeekNumber());
     }
+
+    @Test
+    void getWeekKey_acrossNewYear() {
+        var tuesday = new Shift("30.12.25");
+        var friday = new Shift("02.01.26");
+        var nextYear = new Shift("01.01.27");
+
+        assertThat(tuesday.getWeekKey()).isEqualTo(friday.getWeekKey());
+        assertThat(tuesday.getWeekNumber()).isEqualTo(1);
+        assertThat(nextYear.getWeekNumber()).isEqualTo(53);
+        assertThat(new Shift("02.01.25").getWeekKey()).isNotEqualTo(friday.getWeekKey());
+    }
+
+    @Test
+    void derivedFromDate() {
+        assertThat(shift1.getEpochDay()).isEqualTo(LocalDate.of(2026, 2, 10).toEpochDay());
+        assertThat(shift1.getDayOfWeek()).isEqualTo(DayOfWeek.TUESDAY);
+
+        shift1.setDate(LocalDate.of(2026, 2, 13));
+        assertThat(shift1.getEpochDay()).isEqualTo(shift2.getEpochDay());
+        assertThat(shift1.getDayOfWeek()).isEqualTo(DayOfWeek.FRIDAY);
+    }
 }
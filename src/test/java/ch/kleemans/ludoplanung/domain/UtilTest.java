@@ -18,6 +18,16 @@ class UtilTest {
         assertThat(Util.getWeekNumber(LocalDate.of(2026, 12, 31))).isEqualTo(53);
     }
 
+    @Test
+    void getWeekKey() {
+        assertThat(Util.getWeekKey(LocalDate.of(2026, 2, 10))).isEqualTo(202607);
+        // Belong to the week-based year of their Thursday
+        assertThat(Util.getWeekKey(LocalDate.of(2025, 12, 29))).isEqualTo(202601);
+        assertThat(Util.getWeekKey(LocalDate.of(2026, 1, 1))).isEqualTo(202601);
+        assertThat(Util.getWeekKey(LocalDate.of(2027, 1, 1))).isEqualTo(202653);
+        assertThat(Util.getWeekKey(LocalDate.of(2025, 1, 2))).isNotEqualTo(Util.getWeekKey(LocalDate.of(2026, 1, 1)));
+    }
+
     @Test
     void getDayOfWeek() {
         assertThat(Util.getDayOfWeek(LocalDate.of(2026, 1, 1))).isEqualTo(DayOfWeek.THURSDAY);
@@ -39,4 +49,11 @@ class UtilTest {
         assertThat(Util.getDayOfWeek("gibberish")).isEqualTo(DayOfWeek.SUNDAY);
     }
 
+    @Test
+    void getShortString() {
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            assertThat(Util.getDayOfWeek(Util.getShortString(dayOfWeek))).isEqualTo(dayOfWeek);
+        }
+        assertThat(Util.getShortString(DayOfWeek.TUESDAY)).isEqualTo("Di");
+    }
 }
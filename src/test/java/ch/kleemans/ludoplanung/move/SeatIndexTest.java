@@ -0,0 +1,56 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatIndexTest {
+    private static final LocalDate DATE_1 = LocalDate.of(2026, 2, 10);
+    private static final LocalDate DATE_2 = LocalDate.of(2026, 2, 13);
+    private static final LocalDate DATE_3 = LocalDate.of(2026, 2, 17);
+    private static final LocalDate DATE_4 = LocalDate.of(2026, 2, 20);
+
+    private final Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(DATE_1, DATE_2, DATE_4)).build();
+    private final Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(DATE_1, DATE_3)).build();
+    private final Shift shift1 = new Shift(DATE_1, alice, bob);
+    private final Shift shift2 = new Shift(DATE_2, alice, bob);
+    private final Shift shift3 = new Shift(DATE_3, alice, bob);
+    private final Shift shift4 = new Shift(DATE_4, alice, bob);
+
+    private SeatIndex index() {
+        // Not in date order on purpose
+        return new SeatIndex(new LudoSchedule(new ArrayList<>(List.of(shift3, shift1, shift4, shift2)),
+                new ArrayList<>(List.of(alice, bob))));
+    }
+
+    @Test
+    void availableShifts() {
+        shift2.setPinned(true);
+        var index = index();
+
+        assertThat(index.getSeatCount()).isEqualTo(6);
+        assertThat(index.availableShifts(alice)).containsExactly(shift1, shift4);
+        assertThat(index.availableShifts(bob)).containsExactly(shift1, shift3);
+    }
+
+    @Test
+    void adjacentAvailableShift() {
+        var index = index();
+
+        assertThat(index.adjacentAvailableShift(alice, shift2, true)).isEqualTo(shift4);
+        assertThat(index.adjacentAvailableShift(alice, shift2, false)).isEqualTo(shift1);
+        assertThat(index.adjacentAvailableShift(alice, shift1, false)).isNull();
+        assertThat(index.adjacentAvailableShift(alice, shift4, true)).isNull();
+        // Bob isn't available on shift 2
+        assertThat(index.adjacentAvailableShift(bob, shift2, true)).isEqualTo(shift3);
+        assertThat(index.adjacentAvailableShift(bob, shift2, false)).isEqualTo(shift1);
+    }
+}
@@ -0,0 +1,76 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.LudoSchedule;
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMoveFactoryTest {
+    // Two weeks, Tuesday and Friday
+    private static final LocalDate DATE_1 = LocalDate.of(2026, 2, 10);
+    private static final LocalDate DATE_2 = LocalDate.of(2026, 2, 13);
+    private static final LocalDate DATE_3 = LocalDate.of(2026, 2, 17);
+    private static final LocalDate DATE_4 = LocalDate.of(2026, 2, 20);
+
+    private final Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of(DATE_1, DATE_2, DATE_3, DATE_4)).build();
+    private final Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of(DATE_1, DATE_3)).build();
+    private final Person carol = Person.builder().name("Carol").idealLoad(1).availableDates(Set.of(DATE_2, DATE_4)).build();
+    private final Person dave = Person.builder().name("Dave").idealLoad(1).availableDates(Set.of(DATE_1, DATE_2, DATE_3, DATE_4)).build();
+    private final Shift shift1 = new Shift(DATE_1, alice, bob);
+    private final Shift shift2 = new Shift(DATE_2, carol, dave);
+    private final Shift shift3 = new Shift(DATE_3, alice, dave);
+    private final Shift shift4 = new Shift(DATE_4, carol, alice);
+
+    private SeatIndex index() {
+        return new SeatIndex(new LudoSchedule(new ArrayList<>(List.of(shift1, shift2, shift3, shift4)),
+                new ArrayList<>(List.of(alice, bob, carol, dave))));
+    }
+
+    private static List<SeatMove> originalMoves(AbstractSeatMoveFactory factory, SeatIndex index) {
+        List<SeatMove> moves = new ArrayList<>();
+        factory.createOriginalMoveIterator(index).forEachRemaining(moves::add);
+        return moves;
+    }
+
+    @Test
+    void originalOrder() {
+        var index = index();
+
+        for (AbstractSeatMoveFactory factory : List.of(new CrossWeekSwapMoveFactory(), new AdjacentDateMoveFactory(),
+                new ChainRotateMoveFactory())) {
+            List<SeatMove> moves = originalMoves(factory, index);
+
+            assertThat(moves).isNotEmpty().doesNotHaveDuplicates().allMatch(move -> move.isMoveDoable(null));
+            // The same order every time
+            assertThat(originalMoves(factory, index)).containsExactlyElementsOf(moves);
+        }
+    }
+
+    @Test
+    void originalOrder_crossWeekSwap() {
+        var moves = originalMoves(new CrossWeekSwapMoveFactory(), index());
+
+        // Bob is only available on Tuesdays, and can't swap with Alice, who would be twice in the first shift
+        assertThat(moves).filteredOn(move -> move.toString().startsWith("CrossWeekSwap 2026-02-10/B Bob"))
+                .containsExactly(new SeatMove("CrossWeekSwap", List.of(new Seat(shift1, false), new Seat(shift3, false)),
+                        List.of(dave, bob)));
+    }
+
+    @Test
+    void originalOrder_pinnedShiftsLeftOut() {
+        shift1.setPinned(true);
+        shift3.setPinned(true);
+
+        // Only the Friday shifts can change
+        assertThat(originalMoves(new CrossWeekSwapMoveFactory(), index()))
+                .isNotEmpty()
+                .allMatch(move -> move.getPlanningEntities().stream().noneMatch(Shift::isPinned));
+    }
+}
@@ -0,0 +1,49 @@
+package ch.kleemans.ludoplanung.move;
+
+import ch.kleemans.ludoplanung.domain.Person;
+import ch.kleemans.ludoplanung.domain.Shift;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatMoveTest {
+    private final Person alice = Person.builder().name("Alice").idealLoad(1).availableDates(Set.of()).build();
+    private final Person bob = Person.builder().name("Bob").idealLoad(1).availableDates(Set.of()).build();
+    private final Person carol = Person.builder().name("Carol").idealLoad(1).availableDates(Set.of()).build();
+    private final Shift shift1 = new Shift(LocalDate.of(2026, 2, 10), alice, bob);
+    private final Shift shift2 = new Shift(LocalDate.of(2026, 2, 17), carol, bob);
+
+    @Test
+    void isMoveDoable() {
+        var swap = new SeatMove("Swap", List.of(new Seat(shift1, true), new Seat(shift2, true)), List.of(carol, alice));
+
+        assertThat(swap.isMoveDoable(null)).isTrue();
+    }
+
+    @Test
+    void isMoveDoable_samePersonInBothSeats() {
+        // Bob would be in both seats of shift 2
+        var swap = new SeatMove("Swap", List.of(new Seat(shift1, false), new Seat(shift2, true)), List.of(carol, bob));
+
+        assertThat(swap.isMoveDoable(null)).isFalse();
+    }
+
+    @Test
+    void isMoveDoable_pinned() {
+        shift2.setPinned(true);
+        var swap = new SeatMove("Swap", List.of(new Seat(shift1, true), new Seat(shift2, true)), List.of(carol, alice));
+
+        assertThat(swap.isMoveDoable(null)).isFalse();
+    }
+
+    @Test
+    void isMoveDoable_nothingChanges() {
+        var move = new SeatMove("Swap", List.of(new Seat(shift1, true), new Seat(shift2, true)), List.of(alice, carol));
+
+        assertThat(move.isMoveDoable(null)).isFalse();
+    }
+}